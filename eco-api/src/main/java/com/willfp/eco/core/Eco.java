@@ -26,6 +26,7 @@ import com.willfp.eco.core.gui.slot.SlotBuilder;
 import com.willfp.eco.core.gui.slot.functional.SlotProvider;
 import com.willfp.eco.core.items.TestableItem;
 import com.willfp.eco.core.packet.Packet;
+import com.willfp.eco.core.packet.PacketTimings;
 import com.willfp.eco.core.placeholder.context.PlaceholderContext;
 import com.willfp.eco.core.proxy.ProxyFactory;
 import com.willfp.eco.core.scheduling.Scheduler;
@@ -426,6 +427,17 @@ public interface Eco {
     NamespacedKey createNamespacedKey(@NotNull String namespace,
                                       @NotNull String key);
 
+    /**
+     * Create a {@link NamespacedKey} quickly from a {@code namespace:key} string.
+     * <p>
+     * Has the same caveats as {@link #createNamespacedKey(String, String)}.
+     *
+     * @param string The string.
+     * @return The key, or null if the string has no namespace.
+     */
+    @Nullable
+    NamespacedKey createNamespacedKeyFromString(@NotNull String string);
+
     /**
      * Return or get props for a plugin.
      *
@@ -565,6 +577,14 @@ public interface Eco {
     void sendPacket(@NotNull Player player,
                     @NotNull Packet packet);
 
+    /**
+     * Get the packet listener timings.
+     *
+     * @return The timings.
+     */
+    @NotNull
+    PacketTimings getPacketTimings();
+
     /**
      * Translate placeholders in a string.
      *
@@ -430,6 +430,10 @@ public abstract class EcoPlugin extends JavaPlugin implements PluginLike, Regist
 
         this.loadPluginCommands().forEach(PluginCommand::register);
 
+        if (Eco.get().getEcoPlugin().getConfigYml().getBool("watch-config-files")) {
+            this.getConfigHandler().startWatching();
+        }
+
         // Run preliminary reload to resolve load order issues
         this.getScheduler().runLater(() -> {
             Logger before = this.getLogger();
@@ -490,6 +494,7 @@ public abstract class EcoPlugin extends JavaPlugin implements PluginLike, Regist
 
         this.getEventManager().unregisterAllListeners();
         this.getScheduler().cancelAll();
+        this.getConfigHandler().stopWatching();
 
         this.handleLifecycle(this.onDisable, this::handleDisable);
 
@@ -29,6 +29,14 @@ public class Prerequisite {
             "Requires server to be running paper (or a fork)"
     );
 
+    /**
+     * Requires the server to be running folia.
+     */
+    public static final Prerequisite HAS_FOLIA = new Prerequisite(
+            () -> ClassUtils.exists("io.papermc.paper.threadedregions.RegionizedServer"),
+            "Requires server to be running folia"
+    );
+
     /**
      * Requires the server to be running an implementation of paper.
      */
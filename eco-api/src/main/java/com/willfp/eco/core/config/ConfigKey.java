@@ -0,0 +1,180 @@
+package com.willfp.eco.core.config;
+
+import com.willfp.eco.core.config.interfaces.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * A handle to a value in a config.
+ * <p>
+ * The value is looked up once and then cached until the config it belongs to is
+ * changed (through {@link Config#set(String, Object)} or by being reloaded), so
+ * repeated reads in hot code don't have to resolve the path each time. Changes are
+ * detected with {@link Config#getRevision()}; configs that don't track revisions
+ * are read every time.
+ * <p>
+ * Only use this with getters that depend on nothing but the config; for example,
+ * formatted strings with placeholders should not be cached this way.
+ *
+ * @param <T> The type of the value.
+ */
+public final class ConfigKey<T> implements Supplier<T> {
+    /**
+     * The config.
+     */
+    private final Config config;
+
+    /**
+     * The path.
+     */
+    private final String path;
+
+    /**
+     * The getter.
+     */
+    private final BiFunction<Config, String, T> getter;
+
+    /**
+     * The last resolved value.
+     */
+    private volatile Resolved<T> resolved = null;
+
+    /**
+     * Create a new config key.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @param getter The getter, for example {@code Config::getIntOrNull}.
+     */
+    private ConfigKey(@NotNull final Config config,
+                      @NotNull final String path,
+                      @NotNull final BiFunction<Config, String, T> getter) {
+        this.config = config;
+        this.path = path;
+        this.getter = getter;
+    }
+
+    /**
+     * Get the value.
+     *
+     * @return The value.
+     */
+    @Override
+    public T get() {
+        int version = config.getRevision();
+
+        if (version < 0) {
+            return getter.apply(config, path);
+        }
+
+        Resolved<T> current = this.resolved;
+
+        if (current == null || current.version() != version) {
+            current = new Resolved<>(version, getter.apply(config, path));
+            this.resolved = current;
+        }
+
+        return current.value();
+    }
+
+    /**
+     * Get the config.
+     *
+     * @return The config.
+     */
+    @NotNull
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Get the path.
+     *
+     * @return The path.
+     */
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Create a config key with a custom getter.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @param getter The getter.
+     * @param <T>    The type of the value.
+     * @return The key.
+     */
+    @NotNull
+    public static <T> ConfigKey<T> of(@NotNull final Config config,
+                                      @NotNull final String path,
+                                      @NotNull final BiFunction<Config, String, T> getter) {
+        return new ConfigKey<>(config, path, getter);
+    }
+
+    /**
+     * Create an integer config key.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @return The key.
+     */
+    @NotNull
+    public static ConfigKey<Integer> ofInt(@NotNull final Config config,
+                                           @NotNull final String path) {
+        return of(config, path, Config::getInt);
+    }
+
+    /**
+     * Create a double config key.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @return The key.
+     */
+    @NotNull
+    public static ConfigKey<Double> ofDouble(@NotNull final Config config,
+                                             @NotNull final String path) {
+        return of(config, path, Config::getDouble);
+    }
+
+    /**
+     * Create a boolean config key.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @return The key.
+     */
+    @NotNull
+    public static ConfigKey<Boolean> ofBool(@NotNull final Config config,
+                                            @NotNull final String path) {
+        return of(config, path, Config::getBool);
+    }
+
+    /**
+     * Create an unformatted string config key.
+     *
+     * @param config The config.
+     * @param path   The path.
+     * @return The key.
+     */
+    @NotNull
+    public static ConfigKey<String> ofString(@NotNull final Config config,
+                                             @NotNull final String path) {
+        return of(config, path, Config::getString);
+    }
+
+    /**
+     * A resolved value.
+     *
+     * @param version The config revision it was resolved at.
+     * @param value   The value.
+     * @param <T>     The type of the value.
+     */
+    private record Resolved<T>(int version, T value) {
+
+    }
+}
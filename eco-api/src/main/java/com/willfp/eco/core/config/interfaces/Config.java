@@ -728,6 +728,18 @@ public interface Config extends Cloneable, PlaceholderInjectable {
         return empty.getConfigurationSection("temp");
     }
 
+    /**
+     * Get the revision of the config, which changes whenever the config or any of
+     * its subsections are changed or reloaded.
+     * <p>
+     * Configs that don't track changes return -1.
+     *
+     * @return The revision.
+     */
+    default int getRevision() {
+        return -1;
+    }
+
     /**
      * Create a new config builder.
      *
@@ -0,0 +1,24 @@
+package com.willfp.eco.core.config.updating;
+
+import com.willfp.eco.core.config.interfaces.LoadableConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Listens for configs being reloaded after their file was changed on disk.
+ * <p>
+ * Only called while the {@link ConfigHandler} is watching for changes,
+ * see {@link ConfigHandler#startWatching()}.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    /**
+     * Called on the main thread after a config has been reloaded.
+     *
+     * @param config      The config.
+     * @param changedKeys The deep keys that were added, removed, or changed.
+     */
+    void onChange(@NotNull LoadableConfig config,
+                  @NotNull Set<String> changedKeys);
+}
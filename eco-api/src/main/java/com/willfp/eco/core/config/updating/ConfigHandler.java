@@ -30,4 +30,31 @@ public interface ConfigHandler {
      * @param config The config.
      */
     void addConfig(@NotNull LoadableConfig config);
+
+    /**
+     * Start watching config files for changes, reloading only the files that
+     * changed rather than every config.
+     * <p>
+     * Changes are debounced, and {@link ConfigChangeListener}s are notified
+     * with the keys that changed. Does nothing if already watching.
+     */
+    default void startWatching() {
+        // Not supported by default.
+    }
+
+    /**
+     * Stop watching config files for changes.
+     */
+    default void stopWatching() {
+        // Not supported by default.
+    }
+
+    /**
+     * Add a listener to be notified when a config is reloaded after its file changes.
+     *
+     * @param listener The listener.
+     */
+    default void addChangeListener(@NotNull final ConfigChangeListener listener) {
+        // Not supported by default.
+    }
 }
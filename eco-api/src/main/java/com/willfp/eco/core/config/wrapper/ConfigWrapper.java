@@ -158,6 +158,11 @@ public abstract class ConfigWrapper<T extends Config> implements Config {
         return this.handle.toMap();
     }
 
+    @Override
+    public int getRevision() {
+        return this.handle.getRevision();
+    }
+
     /**
      * Get the handle.
      *
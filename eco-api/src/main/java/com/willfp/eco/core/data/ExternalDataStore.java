@@ -3,10 +3,11 @@ package com.willfp.eco.core.data;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 /**
@@ -17,12 +18,22 @@ public final class ExternalDataStore {
     /**
      * The store.
      */
-    private static final Map<String, Object> DATA = new HashMap<>();
+    private static final Map<String, Object> DATA = new ConcurrentHashMap<>();
 
     /**
      * The store adapters.
      */
-    private static final List<ExternalDataStoreObjectAdapter<?, ?>> STORE_ADAPTERS = new ArrayList<>();
+    private static final List<ExternalDataStoreObjectAdapter<?, ?>> STORE_ADAPTERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * The adapters used to store values, by value class.
+     */
+    private static final Map<Class<?>, Optional<ExternalDataStoreObjectAdapter<?, ?>>> PUT_ADAPTERS = new ConcurrentHashMap<>();
+
+    /**
+     * The adapters used to access values, by stored class and accessed class.
+     */
+    private static final Map<AdapterKey, Optional<ExternalDataStoreObjectAdapter<?, ?>>> GET_ADAPTERS = new ConcurrentHashMap<>();
 
     /**
      * Put data into the store.
@@ -46,17 +57,33 @@ public final class ExternalDataStore {
                                   @NotNull final A value) {
         Object storedValue = value;
 
-        for (ExternalDataStoreObjectAdapter<?, ?> unknownAdapter : STORE_ADAPTERS) {
-            if (unknownAdapter.getAccessedClass().isInstance(value)) {
-                ExternalDataStoreObjectAdapter<A, ?> adapter = (ExternalDataStoreObjectAdapter<A, ?>) unknownAdapter;
-                storedValue = adapter.toStoredObject(value);
-                break;
-            }
+        ExternalDataStoreObjectAdapter<?, ?> unknownAdapter = PUT_ADAPTERS.computeIfAbsent(
+                value.getClass(),
+                valueClass -> STORE_ADAPTERS.stream()
+                        .filter(adapter -> adapter.getAccessedClass().isAssignableFrom(valueClass))
+                        .findFirst()
+        ).orElse(null);
+
+        if (unknownAdapter != null) {
+            ExternalDataStoreObjectAdapter<A, ?> adapter = (ExternalDataStoreObjectAdapter<A, ?>) unknownAdapter;
+            storedValue = adapter.toStoredObject(value);
         }
 
         DATA.put(key, storedValue);
     }
 
+    /**
+     * Put data into the store.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @param <T>   The type.
+     */
+    public static <T> void put(@NotNull final ExternalDataStoreKey<T> key,
+                               @NotNull final T value) {
+        doPut(key.key(), value);
+    }
+
     /**
      * Get data from the store.
      *
@@ -85,12 +112,21 @@ public final class ExternalDataStore {
                                   @NotNull final Class<A> clazz) {
         Object value = DATA.get(key);
 
-        for (ExternalDataStoreObjectAdapter<?, ?> unknownAdapter : STORE_ADAPTERS) {
-            if (unknownAdapter.getStoredClass().isInstance(value) && unknownAdapter.getAccessedClass().equals(clazz)) {
-                ExternalDataStoreObjectAdapter<A, S> adapter = (ExternalDataStoreObjectAdapter<A, S>) unknownAdapter;
-                value = adapter.toAccessedObject((S) value);
-                break;
-            }
+        if (value == null) {
+            return null;
+        }
+
+        ExternalDataStoreObjectAdapter<?, ?> unknownAdapter = GET_ADAPTERS.computeIfAbsent(
+                new AdapterKey(value.getClass(), clazz),
+                adapterKey -> STORE_ADAPTERS.stream()
+                        .filter(adapter -> adapter.getStoredClass().isAssignableFrom(adapterKey.storedClass())
+                                && adapter.getAccessedClass().equals(adapterKey.accessedClass()))
+                        .findFirst()
+        ).orElse(null);
+
+        if (unknownAdapter != null) {
+            ExternalDataStoreObjectAdapter<A, S> adapter = (ExternalDataStoreObjectAdapter<A, S>) unknownAdapter;
+            value = adapter.toAccessedObject((S) value);
         }
 
         if (clazz.isInstance(value)) {
@@ -133,6 +169,33 @@ public final class ExternalDataStore {
         return get(key, clazz, defaultValue.get());
     }
 
+    /**
+     * Get data from the store.
+     *
+     * @param key The key.
+     * @param <T> The type.
+     * @return The value.
+     */
+    @Nullable
+    public static <T> T get(@NotNull final ExternalDataStoreKey<T> key) {
+        return doGet(key.key(), key.type());
+    }
+
+    /**
+     * Get data from the store.
+     *
+     * @param key          The key.
+     * @param defaultValue The default value.
+     * @param <T>          The type.
+     * @return The value.
+     */
+    @NotNull
+    public static <T> T get(@NotNull final ExternalDataStoreKey<T> key,
+                            @NotNull final T defaultValue) {
+        T value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * Register a new adapter.
      *
@@ -140,6 +203,19 @@ public final class ExternalDataStore {
      */
     public static void registerAdapter(@NotNull final ExternalDataStoreObjectAdapter<?, ?> adapter) {
         STORE_ADAPTERS.add(adapter);
+        PUT_ADAPTERS.clear();
+        GET_ADAPTERS.clear();
+    }
+
+    /**
+     * The key adapters for accessing values are cached by.
+     *
+     * @param storedClass   The class of the stored value.
+     * @param accessedClass The class being accessed.
+     */
+    private record AdapterKey(@NotNull Class<?> storedClass,
+                              @NotNull Class<?> accessedClass) {
+
     }
 
     private ExternalDataStore() {
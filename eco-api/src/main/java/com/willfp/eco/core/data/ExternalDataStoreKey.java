@@ -0,0 +1,28 @@
+package com.willfp.eco.core.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A key for {@link ExternalDataStore} with a known type, so values
+ * don't need to be looked up with a class every time.
+ *
+ * @param key  The key.
+ * @param type The type of the value.
+ * @param <T>  The type of the value.
+ */
+public record ExternalDataStoreKey<T>(@NotNull String key,
+                                      @NotNull Class<T> type) {
+    /**
+     * Create a new typed key.
+     *
+     * @param key  The key.
+     * @param type The type of the value.
+     * @param <T>  The type of the value.
+     * @return The key.
+     */
+    @NotNull
+    public static <T> ExternalDataStoreKey<T> of(@NotNull final String key,
+                                                 @NotNull final Class<T> type) {
+        return new ExternalDataStoreKey<>(key, type);
+    }
+}
@@ -5,6 +5,7 @@ import com.willfp.eco.core.entities.args.EntityArgParser;
 import com.willfp.eco.core.entities.impl.EmptyTestableEntity;
 import com.willfp.eco.core.entities.impl.ModifiedTestableEntity;
 import com.willfp.eco.core.entities.impl.SimpleTestableEntity;
+import com.willfp.eco.core.lookup.LookupCache;
 import com.willfp.eco.util.NamespacedKeyUtils;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
@@ -41,6 +42,11 @@ public final class Entities {
      */
     private static final EntitiesLookupHandler ENTITIES_LOOKUP_HANDLER = new EntitiesLookupHandler(Entities::doParse);
 
+    /**
+     * Cached lookups.
+     */
+    private static final LookupCache<TestableEntity> LOOKUP_CACHE = new LookupCache<>();
+
     /**
      * Register a new custom item.
      *
@@ -50,6 +56,7 @@ public final class Entities {
     public static void registerCustomEntity(@NotNull final NamespacedKey key,
                                             @NotNull final TestableEntity item) {
         REGISTRY.put(key, item);
+        LOOKUP_CACHE.clear();
     }
 
     /**
@@ -59,6 +66,7 @@ public final class Entities {
      */
     public static void registerArgParser(@NotNull final EntityArgParser parser) {
         ARG_PARSERS.add(parser);
+        LOOKUP_CACHE.clear();
     }
 
     /**
@@ -68,6 +76,7 @@ public final class Entities {
      */
     public static void removeCustomEntity(@NotNull final NamespacedKey key) {
         REGISTRY.remove(key);
+        LOOKUP_CACHE.clear();
     }
 
     /**
@@ -86,12 +95,15 @@ public final class Entities {
      * extra metadata tag, extra lore lines, different display name - and it
      * will still work as long as the test passes.
      *
+     * <p>
+     * Lookups are cached, so the same testable entity may be returned for the same key.
+     *
      * @param key The lookup string.
      * @return The testable entity, or an empty testable entity if not found.
      */
     @NotNull
     public static TestableEntity lookup(@NotNull final String key) {
-        return ENTITIES_LOOKUP_HANDLER.parseKey(key);
+        return LOOKUP_CACHE.get(key, ENTITIES_LOOKUP_HANDLER::parseKey);
     }
 
     @NotNull
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * FastItemStack contains methods to modify and read items faster than in default bukkit.
@@ -218,6 +219,22 @@ public interface FastItemStack extends PersistentDataHolder {
      */
     void setCustomModelData(@Nullable Integer data);
 
+    /**
+     * Apply several modifications to the item at once.
+     * <p>
+     * Every setter normally writes the item back immediately; inside the action,
+     * writes are deferred and performed once when the action returns. Until then,
+     * the underlying Bukkit ItemStack and the base tag may not reflect the changes.
+     *
+     * @param action The modifications to apply.
+     * @return The FastItemStack.
+     */
+    @NotNull
+    default FastItemStack edit(@NotNull final Consumer<FastItemStack> action) {
+        action.accept(this);
+        return this;
+    }
+
     /**
      * Get the Bukkit ItemStack again.
      *
@@ -5,7 +5,6 @@ import com.willfp.eco.core.registry.Registry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -35,7 +34,7 @@ public class IntegrationRegistry<T extends Integration> extends Registry<T> {
      * @param action The action to perform.
      */
     public void forEachSafely(@NotNull final Consumer<T> action) {
-        for (T integration : new HashSet<>(this.values())) {
+        for (T integration : this.values()) {
             executeSafely(() -> action.accept(integration), integration);
         }
     }
@@ -47,7 +46,7 @@ public class IntegrationRegistry<T extends Integration> extends Registry<T> {
      * @return If any integrations return true.
      */
     public boolean anySafely(@NotNull final Predicate<T> predicate) {
-        for (T integration : new HashSet<>(this.values())) {
+        for (T integration : this.values()) {
             Boolean result = executeSafely(() -> predicate.test(integration), integration);
             if (result != null && result) {
                 return true;
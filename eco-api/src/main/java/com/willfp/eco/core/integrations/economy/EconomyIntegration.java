@@ -5,6 +5,9 @@ import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Wrapper class for economy integrations.
@@ -122,4 +125,50 @@ public interface EconomyIntegration extends Integration {
     default BigDecimal getExactBalance(@NotNull OfflinePlayer player) {
         return BigDecimal.valueOf(getBalance(player));
     }
+
+    /**
+     * Apply many balance changes at once.
+     * <p>
+     * Positive amounts are given, negative amounts are removed. If any change
+     * fails, the changes already made are reverted.
+     * <p>
+     * Override this if your economy supports real transactions.
+     *
+     * @param deltas The changes to apply, by player.
+     * @return If all changes were applied.
+     */
+    default boolean applyTransactions(@NotNull Map<OfflinePlayer, BigDecimal> deltas) {
+        for (Map.Entry<OfflinePlayer, BigDecimal> entry : deltas.entrySet()) {
+            if (entry.getValue().signum() < 0 && !hasAmount(entry.getKey(), entry.getValue().negate())) {
+                return false;
+            }
+        }
+
+        List<Map.Entry<OfflinePlayer, BigDecimal>> applied = new ArrayList<>();
+
+        for (Map.Entry<OfflinePlayer, BigDecimal> entry : deltas.entrySet()) {
+            OfflinePlayer player = entry.getKey();
+            BigDecimal amount = entry.getValue();
+
+            boolean success = amount.signum() < 0
+                    ? removeMoney(player, amount.negate())
+                    : giveMoney(player, amount);
+
+            if (!success) {
+                for (Map.Entry<OfflinePlayer, BigDecimal> done : applied) {
+                    if (done.getValue().signum() < 0) {
+                        giveMoney(done.getKey(), done.getValue().negate());
+                    } else {
+                        removeMoney(done.getKey(), done.getValue());
+                    }
+                }
+
+                return false;
+            }
+
+            applied.add(entry);
+        }
+
+        return true;
+    }
 }
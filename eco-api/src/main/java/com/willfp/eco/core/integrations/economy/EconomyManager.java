@@ -1,10 +1,16 @@
 package com.willfp.eco.core.integrations.economy;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.willfp.eco.core.Eco;
 import com.willfp.eco.core.integrations.IntegrationRegistry;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to handle economy.
@@ -15,6 +21,13 @@ public final class EconomyManager {
      */
     private static final IntegrationRegistry<EconomyIntegration> REGISTRY = new IntegrationRegistry<>();
 
+    /**
+     * Cached balances, as economies backed by a database can be slow to query.
+     */
+    private static final Cache<UUID, BigDecimal> BALANCE_CACHE = Caffeine.newBuilder()
+            .expireAfterWrite(Eco.get().getEcoPlugin().getConfigYml().getInt("economy-balance-cache-ttl"), TimeUnit.MILLISECONDS)
+            .build();
+
     /**
      * Register a new integration.
      *
@@ -22,6 +35,7 @@ public final class EconomyManager {
      */
     public static void register(@NotNull final EconomyIntegration integration) {
         REGISTRY.register(integration);
+        invalidateAllBalances();
     }
 
     /**
@@ -81,10 +95,13 @@ public final class EconomyManager {
      */
     public static boolean giveMoney(@NotNull final OfflinePlayer player,
                                     @NotNull final BigDecimal amount) {
-        return REGISTRY.firstSafely(
+        boolean success = REGISTRY.firstSafely(
                 integration -> integration.giveMoney(player, amount),
                 false
         );
+
+        invalidateBalance(player);
+        return success;
     }
 
     /**
@@ -108,10 +125,13 @@ public final class EconomyManager {
      */
     public static boolean removeMoney(@NotNull final OfflinePlayer player,
                                       @NotNull final BigDecimal amount) {
-        return REGISTRY.firstSafely(
+        boolean success = REGISTRY.firstSafely(
                 integration -> integration.removeMoney(player, amount),
                 false
         );
+
+        invalidateBalance(player);
+        return success;
     }
 
     /**
@@ -126,17 +146,71 @@ public final class EconomyManager {
 
     /**
      * Get the balance of a player.
+     * <p>
+     * Balances are cached for a short time, and are invalidated whenever money
+     * is given or removed through eco.
      *
      * @param player The player.
      * @return The balance.
      */
     public static BigDecimal getExactBalance(@NotNull final OfflinePlayer player) {
-        return REGISTRY.firstSafely(
-                integration -> integration.getExactBalance(player),
-                BigDecimal.ZERO
+        if (!hasRegistrations()) {
+            return BigDecimal.ZERO;
+        }
+
+        return BALANCE_CACHE.get(
+                player.getUniqueId(),
+                uuid -> REGISTRY.firstSafely(
+                        integration -> integration.getExactBalance(player),
+                        BigDecimal.ZERO
+                )
         );
     }
 
+    /**
+     * Apply many balance changes at once.
+     * <p>
+     * Positive amounts are given, negative amounts are removed. Either all
+     * changes are applied or none are.
+     *
+     * @param deltas The changes to apply, by player.
+     * @return If the transactions were a success.
+     */
+    public static boolean applyTransactions(@NotNull final Map<OfflinePlayer, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        boolean success = REGISTRY.firstSafely(
+                integration -> integration.applyTransactions(deltas),
+                false
+        );
+
+        for (OfflinePlayer player : deltas.keySet()) {
+            invalidateBalance(player);
+        }
+
+        return success;
+    }
+
+    /**
+     * Clear the cached balance of a player.
+     * <p>
+     * Use this if you change a balance without going through eco.
+     *
+     * @param player The player.
+     */
+    public static void invalidateBalance(@NotNull final OfflinePlayer player) {
+        BALANCE_CACHE.invalidate(player.getUniqueId());
+    }
+
+    /**
+     * Clear all cached balances.
+     */
+    public static void invalidateAllBalances() {
+        BALANCE_CACHE.invalidateAll();
+    }
+
     private EconomyManager() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
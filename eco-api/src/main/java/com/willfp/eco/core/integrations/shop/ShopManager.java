@@ -1,15 +1,26 @@
 package com.willfp.eco.core.integrations.shop;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.willfp.eco.core.Eco;
 import com.willfp.eco.core.integrations.IntegrationRegistry;
+import com.willfp.eco.core.items.HashedItem;
 import com.willfp.eco.core.price.Price;
 import com.willfp.eco.core.price.impl.PriceFree;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class to handle shop integrations.
@@ -21,6 +32,14 @@ public final class ShopManager {
      */
     private static final IntegrationRegistry<ShopIntegration> REGISTRY = new IntegrationRegistry<>();
 
+    /**
+     * Cached sell values, bucketed by player and item hash.
+     */
+    private static final Cache<ValueKey, List<CachedValue>> VALUE_CACHE = Caffeine.newBuilder()
+            .expireAfterWrite(Eco.get().getEcoPlugin().getConfigYml().getInt("shop-value-cache-ttl"), TimeUnit.SECONDS)
+            .maximumSize(10_000)
+            .build();
+
     /**
      * Register a new integration.
      *
@@ -28,6 +47,7 @@ public final class ShopManager {
      */
     public static void register(@NotNull final ShopIntegration integration) {
         REGISTRY.register(integration);
+        invalidateValues();
     }
 
     /**
@@ -50,7 +70,7 @@ public final class ShopManager {
             return false;
         }
 
-        return REGISTRY.anySafely(integration -> integration.isSellable(itemStack, player));
+        return getSellValue(itemStack, player).sellable();
     }
 
     /**
@@ -69,10 +89,107 @@ public final class ShopManager {
             return new PriceFree();
         }
 
-        return REGISTRY.firstSafely(
-                integration -> integration.getUnitValue(itemStack, player),
-                new PriceFree()
+        return getSellValue(itemStack, player).unitValue();
+    }
+
+    /**
+     * Get the total value of many items for a player.
+     * <p>
+     * Items that aren't sellable are skipped, and identical items are only
+     * looked up once.
+     *
+     * @param items  The items.
+     * @param player The player.
+     * @return The total value.
+     */
+    public static double getTotalValue(@NotNull final Iterable<? extends ItemStack> items,
+                                       @NotNull final Player player) {
+        double total = 0;
+
+        for (ItemStack itemStack : items) {
+            if (itemStack == null || itemStack.getType() == Material.AIR) {
+                continue;
+            }
+
+            SellValue value = getSellValue(itemStack, player);
+
+            if (value.sellable()) {
+                total += value.unitValue().getValue(player, itemStack.getAmount());
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Get the total value of the contents of an inventory for a player.
+     *
+     * @param inventory The inventory.
+     * @param player    The player.
+     * @return The total value.
+     */
+    public static double getTotalValue(@NotNull final Inventory inventory,
+                                       @NotNull final Player player) {
+        return getTotalValue(Arrays.asList(inventory.getContents()), player);
+    }
+
+    /**
+     * Clear all cached sell values.
+     * <p>
+     * Call this when shop prices change, such as after a shop plugin reloads.
+     */
+    public static void invalidateValues() {
+        VALUE_CACHE.invalidateAll();
+    }
+
+    /**
+     * Clear the cached sell values for a player.
+     * <p>
+     * Call this when something that affects a player's prices changes,
+     * such as a sell multiplier.
+     *
+     * @param player The player.
+     */
+    public static void invalidateValues(@NotNull final Player player) {
+        UUID uuid = player.getUniqueId();
+        VALUE_CACHE.asMap().keySet().removeIf(key -> key.player().equals(uuid));
+    }
+
+    /**
+     * Get the sell value of an item for a player, from the cache if possible.
+     *
+     * @param itemStack The item.
+     * @param player    The player.
+     * @return The sell value.
+     */
+    @NotNull
+    private static SellValue getSellValue(@NotNull final ItemStack itemStack,
+                                          @NotNull final Player player) {
+        ValueKey key = new ValueKey(
+                player.getUniqueId(),
+                itemStack.getType(),
+                HashedItem.of(itemStack).getHash()
         );
+
+        List<CachedValue> bucket = VALUE_CACHE.get(key, k -> new CopyOnWriteArrayList<>());
+
+        // Different items can share a hash, so the item is compared to confirm.
+        for (CachedValue cached : bucket) {
+            if (cached.item().isSimilar(itemStack)) {
+                return cached.value();
+            }
+        }
+
+        SellValue value = new SellValue(
+                REGISTRY.anySafely(integration -> integration.isSellable(itemStack, player)),
+                REGISTRY.firstSafely(
+                        integration -> integration.getUnitValue(itemStack, player),
+                        new PriceFree()
+                )
+        );
+
+        bucket.add(new CachedValue(itemStack.clone(), value));
+        return value;
     }
 
     /**
@@ -117,6 +234,41 @@ public final class ShopManager {
         return new HashSet<>(REGISTRY.values());
     }
 
+    /**
+     * The key sell values are bucketed by.
+     *
+     * @param player   The player.
+     * @param material The item material.
+     * @param hash     The item hash, which ignores amount.
+     */
+    private record ValueKey(@NotNull UUID player,
+                            @NotNull Material material,
+                            int hash) {
+
+    }
+
+    /**
+     * A sell value cached for an item.
+     *
+     * @param item  A copy of the item.
+     * @param value The sell value.
+     */
+    private record CachedValue(@NotNull ItemStack item,
+                               @NotNull SellValue value) {
+
+    }
+
+    /**
+     * A sell value.
+     *
+     * @param sellable  If the item is sellable.
+     * @param unitValue The value of one of the item.
+     */
+    private record SellValue(boolean sellable,
+                             @NotNull Price unitValue) {
+
+    }
+
     private ShopManager() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -0,0 +1,336 @@
+package com.willfp.eco.core.items;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * A snapshot of an inventory with identical stacks grouped together, in order
+ * to count many {@link TestableItem}s without testing every slot for each one.
+ * <p>
+ * Each group is only tested once per item, so checking dozens of prices against
+ * an inventory costs one scan rather than one scan per price.
+ * <p>
+ * Removals can be reserved first and committed later, which allows taking several
+ * items from an inventory only if all of them are present.
+ * <p>
+ * The summary reflects the inventory at the time it was created; create a new one
+ * if the inventory may have been changed by something else.
+ */
+public final class InventorySummary {
+    /**
+     * The inventory contents.
+     */
+    private final ItemStack[] contents;
+
+    /**
+     * The groups of identical stacks.
+     */
+    private final List<Group> groups = new ArrayList<>();
+
+    /**
+     * The groups that each item has been found to match.
+     */
+    private final Map<TestableItem, List<Group>> matches = new IdentityHashMap<>();
+
+    /**
+     * Amounts to remove from each slot on commit.
+     */
+    private final Map<Integer, Integer> pending = new LinkedHashMap<>();
+
+    /**
+     * Create a new inventory summary.
+     *
+     * @param contents The inventory contents.
+     * @param hasher   The function to hash stacks with.
+     */
+    InventorySummary(@NotNull final ItemStack[] contents,
+                     @NotNull final ToIntFunction<ItemStack> hasher) {
+        this.contents = contents;
+
+        Map<GroupKey, List<Group>> byKey = new LinkedHashMap<>();
+
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack itemStack = contents[slot];
+
+            if (itemStack == null || itemStack.getType() == Material.AIR) {
+                continue;
+            }
+
+            // Amount is part of the key as some items (e.g. stacks) match on amount.
+            GroupKey key = new GroupKey(
+                    itemStack.getType(),
+                    hasher.applyAsInt(itemStack),
+                    itemStack.getAmount()
+            );
+
+            List<Group> bucket = byKey.computeIfAbsent(key, k -> new ArrayList<>(1));
+            Group group = findSimilar(bucket, itemStack);
+
+            if (group == null) {
+                group = new Group(itemStack);
+                bucket.add(group);
+                groups.add(group);
+            }
+
+            group.add(slot, itemStack.getAmount());
+        }
+    }
+
+    /**
+     * Find the group in a bucket that an item stack belongs to.
+     * <p>
+     * Different items can share a hash, so the hash only narrows down the
+     * groups and the stack is compared with each sample to confirm.
+     *
+     * @param bucket    The groups with the same key.
+     * @param itemStack The item stack.
+     * @return The group, or null if there is none.
+     */
+    @Nullable
+    private static Group findSimilar(@NotNull final List<Group> bucket,
+                                     @NotNull final ItemStack itemStack) {
+        for (Group group : bucket) {
+            if (group.sample.isSimilar(itemStack)) {
+                return group;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the amount of an item available in the inventory.
+     * <p>
+     * Reserved items are not counted.
+     *
+     * @param item The item.
+     * @return The amount.
+     */
+    public int count(@NotNull final TestableItem item) {
+        int count = 0;
+
+        for (Group group : getMatchingGroups(item)) {
+            count += group.available;
+        }
+
+        return count;
+    }
+
+    /**
+     * Get if the inventory has at least a certain amount of an item available.
+     *
+     * @param item   The item.
+     * @param amount The amount.
+     * @return If the inventory has the amount.
+     */
+    public boolean has(@NotNull final TestableItem item,
+                       final int amount) {
+        return amount <= 0 || count(item) >= amount;
+    }
+
+    /**
+     * Reserve a certain amount of an item to be removed when {@link #commit()} is called.
+     * <p>
+     * Nothing is reserved if there isn't enough of the item available.
+     *
+     * @param item   The item.
+     * @param amount The amount.
+     * @return If the amount could be reserved.
+     */
+    public boolean reserve(@NotNull final TestableItem item,
+                           final int amount) {
+        if (!has(item, amount)) {
+            return false;
+        }
+
+        int remaining = amount;
+
+        for (Group group : getMatchingGroups(item)) {
+            if (remaining <= 0) {
+                break;
+            }
+
+            remaining -= group.reserve(remaining, pending);
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove all reserved items from the inventory.
+     */
+    public void commit() {
+        for (Map.Entry<Integer, Integer> entry : pending.entrySet()) {
+            ItemStack itemStack = contents[entry.getKey()];
+            int newAmount = itemStack.getAmount() - entry.getValue();
+
+            if (newAmount <= 0) {
+                itemStack.setAmount(0);
+                itemStack.setType(Material.AIR);
+            } else {
+                itemStack.setAmount(newAmount);
+            }
+        }
+
+        pending.clear();
+    }
+
+    /**
+     * Remove a certain amount of an item from the inventory, along with anything
+     * already reserved.
+     *
+     * @param item   The item.
+     * @param amount The amount.
+     * @return If the item was removed; if false, nothing is removed.
+     */
+    public boolean remove(@NotNull final TestableItem item,
+                          final int amount) {
+        if (!reserve(item, amount)) {
+            return false;
+        }
+
+        commit();
+        return true;
+    }
+
+    /**
+     * Get the groups that match an item.
+     *
+     * @param item The item.
+     * @return The groups.
+     */
+    @NotNull
+    private List<Group> getMatchingGroups(@NotNull final TestableItem item) {
+        return matches.computeIfAbsent(item, it -> {
+            List<Group> matching = new ArrayList<>();
+
+            for (Group group : groups) {
+                if (it.matches(group.sample)) {
+                    matching.add(group);
+                }
+            }
+
+            return matching;
+        });
+    }
+
+    /**
+     * Summarize the inventory of a player.
+     *
+     * @param player The player.
+     * @return The summary.
+     */
+    @NotNull
+    public static InventorySummary of(@NotNull final Player player) {
+        return of(player.getInventory());
+    }
+
+    /**
+     * Summarize an inventory.
+     *
+     * @param inventory The inventory.
+     * @return The summary.
+     */
+    @NotNull
+    public static InventorySummary of(@NotNull final Inventory inventory) {
+        return new InventorySummary(inventory.getContents(), itemStack -> HashedItem.of(itemStack).getHash());
+    }
+
+    /**
+     * The key that stacks are bucketed by before being compared.
+     *
+     * @param material The material.
+     * @param hash     The item hash.
+     * @param amount   The stack size.
+     */
+    private record GroupKey(@NotNull Material material,
+                            int hash,
+                            int amount) {
+
+    }
+
+    /**
+     * A group of identical stacks.
+     */
+    private static final class Group {
+        /**
+         * One of the stacks, to test items against.
+         */
+        private final ItemStack sample;
+
+        /**
+         * The slots the stacks are in.
+         */
+        private final List<Integer> slots = new ArrayList<>();
+
+        /**
+         * The amount left in each slot after reservations.
+         */
+        private final List<Integer> left = new ArrayList<>();
+
+        /**
+         * The total amount left after reservations.
+         */
+        private int available = 0;
+
+        /**
+         * Create a new group.
+         *
+         * @param sample The sample stack.
+         */
+        private Group(@NotNull final ItemStack sample) {
+            this.sample = sample;
+        }
+
+        /**
+         * Add a slot to the group.
+         *
+         * @param slot   The slot.
+         * @param amount The amount in the slot.
+         */
+        private void add(final int slot,
+                         final int amount) {
+            slots.add(slot);
+            left.add(amount);
+            available += amount;
+        }
+
+        /**
+         * Reserve up to a certain amount from this group.
+         *
+         * @param amount  The amount wanted.
+         * @param pending The pending removals by slot.
+         * @return The amount reserved.
+         */
+        private int reserve(final int amount,
+                            @NotNull final Map<Integer, Integer> pending) {
+            int reserved = 0;
+
+            for (int i = 0; i < slots.size() && reserved < amount; i++) {
+                int take = Math.min(left.get(i), amount - reserved);
+
+                if (take <= 0) {
+                    continue;
+                }
+
+                left.set(i, left.get(i) - take);
+                pending.merge(slots.get(i), take, Integer::sum);
+                reserved += take;
+            }
+
+            available -= reserved;
+            return reserved;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.willfp.eco.core.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed lookup strings, so that keys used repeatedly
+ * (e.g. in effect configs) are only parsed once.
+ * <p>
+ * Only use this for lookups that return objects which are safe to share,
+ * and clear it whenever anything that affects parsing is registered or removed.
+ *
+ * @param <T> The type of parsed object.
+ */
+public final class LookupCache<T> {
+    /**
+     * The default maximum amount of keys to cache.
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 2048;
+
+    /**
+     * The cache.
+     */
+    private final Cache<String, T> cache;
+
+    /**
+     * Create a new lookup cache with the default maximum size.
+     */
+    public LookupCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new lookup cache.
+     *
+     * @param maximumSize The maximum amount of keys to cache.
+     */
+    public LookupCache(final int maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Get the parsed object for a key, parsing it if it isn't cached.
+     *
+     * @param key    The raw lookup string.
+     * @param parser The parser.
+     * @return The parsed object.
+     */
+    @NotNull
+    public T get(@NotNull final String key,
+                 @NotNull final Function<String, @NotNull T> parser) {
+        return cache.get(key, parser);
+    }
+
+    /**
+     * Clear all cached keys.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
@@ -1,6 +1,9 @@
 package com.willfp.eco.core.packet;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
 
 /**
  * Listens to packets.
@@ -32,4 +35,17 @@ public interface PacketListener {
     default PacketPriority getPriority() {
         return PacketPriority.NORMAL;
     }
+
+    /**
+     * Get the packet classes this listener handles.
+     * <p>
+     * Packets that are not an instance of any of these classes will never be
+     * passed to the listener, which avoids calling it for every packet.
+     *
+     * @return The packet classes, or null to handle all packets.
+     */
+    @Nullable
+    default Collection<Class<?>> getPacketTypes() {
+        return null;
+    }
 }
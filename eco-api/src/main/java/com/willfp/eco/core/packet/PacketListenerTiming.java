@@ -0,0 +1,67 @@
+package com.willfp.eco.core.packet;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Timing data for a packet listener handling one type of packet.
+ *
+ * @param plugin      The name of the plugin that registered the listener.
+ * @param listener    The class name of the listener.
+ * @param packetType  The class name of the packet.
+ * @param send        If the packet was being sent (true), or received (false).
+ * @param invocations How many times the listener was called.
+ * @param totalNanos  The total time spent in the listener, in nanoseconds.
+ * @param maxNanos    The longest single call, in nanoseconds.
+ * @param histogram   The call counts per bucket; bucket 0 holds calls under 1μs,
+ *                    and bucket n holds calls from 2^(n-1) up to 2^n μs. The last
+ *                    bucket holds every call longer than that.
+ */
+public record PacketListenerTiming(@NotNull String plugin,
+                                   @NotNull String listener,
+                                   @NotNull String packetType,
+                                   boolean send,
+                                   long invocations,
+                                   long totalNanos,
+                                   long maxNanos,
+                                   long @NotNull [] histogram) {
+    /**
+     * Get the mean time per call.
+     *
+     * @return The mean time, in nanoseconds.
+     */
+    public double meanNanos() {
+        return invocations == 0 ? 0 : (double) totalNanos / invocations;
+    }
+
+    /**
+     * Estimate a percentile from the histogram.
+     * <p>
+     * The result is the upper bound of the bucket containing the percentile,
+     * so is accurate to within a factor of 2.
+     *
+     * @param percentile The percentile, from 0 to 1.
+     * @return The estimated time, in microseconds.
+     */
+    public long percentileMicros(final double percentile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= threshold) {
+                return 1L << i;
+            }
+        }
+
+        return 1L << (histogram.length - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.willfp.eco.core.packet;
+
+import com.willfp.eco.core.Eco;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Records how long packet listeners take to handle each type of packet.
+ * <p>
+ * Timings are disabled by default, as measuring every listener call has
+ * a small cost on the network threads.
+ */
+public interface PacketTimings {
+    /**
+     * Get if timings are being recorded.
+     *
+     * @return If enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Set if timings should be recorded.
+     *
+     * @param enabled If enabled.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Get the timings recorded so far.
+     *
+     * @return The timings, one per listener, packet type and direction.
+     */
+    @NotNull
+    List<PacketListenerTiming> getTimings();
+
+    /**
+     * Clear all recorded timings.
+     */
+    void reset();
+
+    /**
+     * Get the packet timings.
+     *
+     * @return The packet timings.
+     */
+    @NotNull
+    static PacketTimings get() {
+        return Eco.get().getPacketTimings();
+    }
+}
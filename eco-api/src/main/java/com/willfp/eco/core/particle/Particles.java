@@ -1,5 +1,6 @@
 package com.willfp.eco.core.particle;
 
+import com.willfp.eco.core.lookup.LookupCache;
 import com.willfp.eco.core.particle.impl.EmptyParticle;
 import com.willfp.eco.core.particle.impl.SimpleParticle;
 import com.willfp.eco.util.StringUtils;
@@ -18,6 +19,11 @@ public final class Particles {
      */
     private static final Map<String, ParticleFactory> FACTORIES = new ConcurrentHashMap<>();
 
+    /**
+     * Cached lookups.
+     */
+    private static final LookupCache<SpawnableParticle> LOOKUP_CACHE = new LookupCache<>();
+
     /**
      * Register a new particle factory.
      *
@@ -27,6 +33,8 @@ public final class Particles {
         for (String name : factory.getNames()) {
             FACTORIES.put(name.toLowerCase(), factory);
         }
+
+        LOOKUP_CACHE.clear();
     }
 
     /**
@@ -34,11 +42,19 @@ public final class Particles {
      * <p>
      * A particle string should look like {@code magic}, {@code rgb:00ff00}
      *
+     * <p>
+     * Lookups are cached, so the same particle may be returned for the same key.
+     *
      * @param key The key.
      * @return The particle, or an {@link EmptyParticle} if invalid.
      */
     @NotNull
     public static SpawnableParticle lookup(@NotNull final String key) {
+        return LOOKUP_CACHE.get(key, Particles::doLookup);
+    }
+
+    @NotNull
+    private static SpawnableParticle doLookup(@NotNull final String key) {
         String[] args = StringUtils.parseTokens(key.toLowerCase());
 
         if (args.length == 0) {
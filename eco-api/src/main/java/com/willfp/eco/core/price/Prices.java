@@ -1,5 +1,7 @@
 package com.willfp.eco.core.price;
 
+import com.willfp.eco.core.integrations.economy.EconomyManager;
+import com.willfp.eco.core.items.InventorySummary;
 import com.willfp.eco.core.items.Items;
 import com.willfp.eco.core.items.TestableItem;
 import com.willfp.eco.core.placeholder.context.PlaceholderContext;
@@ -9,9 +11,11 @@ import com.willfp.eco.core.price.impl.PriceFree;
 import com.willfp.eco.core.price.impl.PriceItem;
 import com.willfp.eco.core.recipe.parts.EmptyTestableItem;
 import com.willfp.eco.util.NumberUtils;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -114,6 +118,100 @@ public final class Prices {
         }
     }
 
+    /**
+     * Get if a player can afford to pay all prices at once.
+     * <p>
+     * Unlike checking each price separately, prices for the same item or for
+     * economy money are added together, and the inventory is only scanned once.
+     *
+     * @param player     The player.
+     * @param prices     The prices.
+     * @param multiplier The multiplier.
+     * @return If the player can afford all prices.
+     */
+    public static boolean canAffordAll(@NotNull final Player player,
+                                       @NotNull final Collection<? extends Price> prices,
+                                       final double multiplier) {
+        return reserveAll(player, prices, multiplier, InventorySummary.of(player));
+    }
+
+    /**
+     * Make a player pay all prices at once, only if they can afford all of them.
+     *
+     * @param player     The player.
+     * @param prices     The prices.
+     * @param multiplier The multiplier.
+     * @return If the prices were paid; if false, nothing is paid.
+     */
+    public static boolean payAll(@NotNull final Player player,
+                                 @NotNull final Collection<? extends Price> prices,
+                                 final double multiplier) {
+        InventorySummary summary = InventorySummary.of(player);
+
+        if (!reserveAll(player, prices, multiplier, summary)) {
+            return false;
+        }
+
+        summary.commit();
+
+        for (Price price : prices) {
+            if (!(unwrap(price) instanceof PriceItem)) {
+                price.pay(player, multiplier);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reserve the items for all item prices, and check all other prices.
+     *
+     * @param player     The player.
+     * @param prices     The prices.
+     * @param multiplier The multiplier.
+     * @param summary    The inventory summary.
+     * @return If the player can afford all prices.
+     */
+    private static boolean reserveAll(@NotNull final Player player,
+                                      @NotNull final Collection<? extends Price> prices,
+                                      final double multiplier,
+                                      @NotNull final InventorySummary summary) {
+        double economyTotal = 0;
+
+        for (Price price : prices) {
+            Price unwrapped = unwrap(price);
+
+            if (unwrapped instanceof PriceItem itemPrice) {
+                if (!itemPrice.reserve(player, multiplier, summary)) {
+                    return false;
+                }
+            } else if (unwrapped instanceof PriceEconomy) {
+                economyTotal += unwrapped.getValue(player, multiplier);
+            } else if (!price.canAfford(player, multiplier)) {
+                return false;
+            }
+        }
+
+        return economyTotal <= 0 || EconomyManager.getBalance(player) >= economyTotal;
+    }
+
+    /**
+     * Get the price that a configured price delegates to.
+     *
+     * @param price The price.
+     * @return The underlying price.
+     */
+    @NotNull
+    private static Price unwrap(@NotNull final Price price) {
+        Price unwrapped = price;
+
+        while (unwrapped instanceof ConfiguredPrice configured) {
+            unwrapped = configured.getPrice();
+        }
+
+        return unwrapped;
+    }
+
     private Prices() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -2,11 +2,11 @@ package com.willfp.eco.core.price.impl;
 
 import com.willfp.eco.core.drops.DropQueue;
 import com.willfp.eco.core.items.HashedItem;
+import com.willfp.eco.core.items.InventorySummary;
 import com.willfp.eco.core.items.TestableItem;
 import com.willfp.eco.core.placeholder.context.PlaceholderContext;
 import com.willfp.eco.core.placeholder.context.PlaceholderContextSupplier;
 import com.willfp.eco.core.price.Price;
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
@@ -94,48 +94,53 @@ public final class PriceItem implements Price {
     @Override
     public boolean canAfford(@NotNull final Player player,
                              final double multiplier) {
-        int toRemove = (int) getValue(player, multiplier);
-        if (toRemove <= 0) {
-            return true;
-        }
-
-        int count = 0;
-
-        for (ItemStack itemStack : player.getInventory().getContents()) {
-            if (item.matches(itemStack)) {
-                count += itemStack.getAmount();
-            }
-        }
+        return canAfford(player, multiplier, InventorySummary.of(player));
+    }
 
-        return count >= toRemove;
+    /**
+     * Get if a player can afford to pay x times the price, using an existing
+     * summary of their inventory.
+     *
+     * @param player     The player.
+     * @param multiplier The multiplier.
+     * @param summary    The inventory summary.
+     * @return If the player can afford.
+     */
+    public boolean canAfford(@NotNull final Player player,
+                             final double multiplier,
+                             @NotNull final InventorySummary summary) {
+        return summary.has(item, (int) getValue(player, multiplier));
     }
 
     @Override
     public void pay(@NotNull final Player player,
                     final double multiplier) {
-        int toRemove = (int) getValue(player, multiplier);
-        int count = 0;
+        InventorySummary summary = InventorySummary.of(player);
 
-        for (ItemStack itemStack : player.getInventory().getContents()) {
-            if (count >= toRemove) {
-                break;
-            }
-
-            if (item.matches(itemStack)) {
-                int itemAmount = itemStack.getAmount();
-
-                if (itemAmount > toRemove) {
-                    itemStack.setAmount(itemAmount - toRemove);
-                }
-
-                if (itemAmount <= toRemove) {
-                    itemStack.setAmount(0);
-                    itemStack.setType(Material.AIR);
-                }
+        // Nothing is taken unless the full amount is there.
+        if (reserve(player, multiplier, summary)) {
+            summary.commit();
+        }
+    }
 
-                count += itemAmount;
-            }
+    /**
+     * Reserve the items to pay x times the price from an inventory summary,
+     * to be removed when the summary is committed.
+     *
+     * @param player     The player.
+     * @param multiplier The multiplier.
+     * @param summary    The inventory summary.
+     * @return If the items could be reserved.
+     */
+    public boolean reserve(@NotNull final Player player,
+                           final double multiplier,
+                           @NotNull final InventorySummary summary) {
+        int toRemove = (int) getValue(player, multiplier);
+        if (toRemove <= 0) {
+            return true;
         }
+
+        return summary.reserve(item, toRemove);
     }
 
     @Override
@@ -4,15 +4,18 @@ import org.apache.commons.lang.Validate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * A registry for {@link Registrable}s.
+ * <p>
+ * Reads are safe from any thread. The set of values is cached and only rebuilt
+ * after the registry changes, so iterating doesn't copy anything.
  *
  * @param <T> The type of {@link Registrable}.
  */
@@ -25,7 +28,13 @@ public class Registry<T extends Registrable> implements Iterable<T> {
     /**
      * The registry.
      */
-    private final Map<String, T> registry = new HashMap<>();
+    private final Map<String, T> registry = new ConcurrentHashMap<>();
+
+    /**
+     * The cached values, or null if the registry has changed since they were cached.
+     */
+    @Nullable
+    private volatile Set<T> snapshot = null;
 
     /**
      * If the registry is locked.
@@ -59,7 +68,10 @@ public class Registry<T extends Registrable> implements Iterable<T> {
 
         Validate.isTrue(ID_PATTERN.matcher(element.getID()).matches(), "ID must match pattern: " + ID_PATTERN.pattern() + " (was " + element.getID() + ")");
 
-        registry.put(element.getID(), element);
+        synchronized (this) {
+            registry.put(element.getID(), element);
+            snapshot = null;
+        }
 
         element.onRegister();
 
@@ -79,7 +91,10 @@ public class Registry<T extends Registrable> implements Iterable<T> {
 
         element.onRemove();
 
-        registry.remove(element.getID());
+        synchronized (this) {
+            registry.remove(element.getID());
+            snapshot = null;
+        }
 
         return element;
     }
@@ -102,7 +117,10 @@ public class Registry<T extends Registrable> implements Iterable<T> {
             element.onRemove();
         }
 
-        return registry.remove(id);
+        synchronized (this) {
+            snapshot = null;
+            return registry.remove(id);
+        }
     }
 
     /**
@@ -120,18 +138,33 @@ public class Registry<T extends Registrable> implements Iterable<T> {
      * Clear the registry.
      */
     public void clear() {
-        for (T value : Set.copyOf(registry.values())) {
+        for (T value : values()) {
             remove(value);
         }
     }
 
     /**
      * Get all elements.
+     * <p>
+     * The returned set is immutable, and won't change if the registry does.
      *
      * @return All elements.
      */
     public Set<T> values() {
-        return Set.copyOf(registry.values());
+        Set<T> values = snapshot;
+
+        if (values == null) {
+            synchronized (this) {
+                values = snapshot;
+
+                if (values == null) {
+                    values = Set.copyOf(registry.values());
+                    snapshot = values;
+                }
+            }
+        }
+
+        return values;
     }
 
     /**
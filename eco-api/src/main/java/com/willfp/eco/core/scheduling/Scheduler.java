@@ -1,11 +1,18 @@
 package com.willfp.eco.core.scheduling;
 
 import com.willfp.eco.core.EcoPlugin;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Thread scheduler to handle tasks and asynchronous code.
+ * <p>
+ * On servers that tick regions in parallel (such as folia), tasks that touch
+ * entities or blocks must be scheduled with {@link #runOnEntity(Entity, Runnable)}
+ * or {@link #runAt(Location, Runnable)}, and tasks that don't belong to any region
+ * with {@link #runGlobally(Runnable)}. Everywhere else, these all run on the main thread.
  */
 public interface Scheduler {
     /**
@@ -132,6 +139,120 @@ public interface Scheduler {
         return syncRepeating(runnable, delay, repeat);
     }
 
+    /**
+     * Run the task on the thread that owns an entity.
+     * <p>
+     * The task won't run if the entity is removed first.
+     *
+     * @param entity   The entity.
+     * @param runnable The lambda to run.
+     */
+    default void runOnEntity(@NotNull final Entity entity,
+                             @NotNull final Runnable runnable) {
+        run(runnable);
+    }
+
+    /**
+     * Run the task on the thread that owns an entity, after a specified tick delay.
+     *
+     * @param entity     The entity.
+     * @param ticksLater The amount of ticks to wait before execution.
+     * @param runnable   The lambda to run.
+     */
+    default void runOnEntityLater(@NotNull final Entity entity,
+                                  final long ticksLater,
+                                  @NotNull final Runnable runnable) {
+        runLater(runnable, ticksLater);
+    }
+
+    /**
+     * Run the task on the thread that owns a location.
+     *
+     * @param location The location.
+     * @param runnable The lambda to run.
+     */
+    default void runAt(@NotNull final Location location,
+                       @NotNull final Runnable runnable) {
+        run(runnable);
+    }
+
+    /**
+     * Run the task on the thread that owns a location, after a specified tick delay.
+     *
+     * @param location   The location.
+     * @param ticksLater The amount of ticks to wait before execution.
+     * @param runnable   The lambda to run.
+     */
+    default void runAtLater(@NotNull final Location location,
+                            final long ticksLater,
+                            @NotNull final Runnable runnable) {
+        runLater(runnable, ticksLater);
+    }
+
+    /**
+     * Run the task on the global thread, for tasks that don't touch any
+     * entities or blocks.
+     *
+     * @param runnable The lambda to run.
+     */
+    default void runGlobally(@NotNull final Runnable runnable) {
+        run(runnable);
+    }
+
+    /**
+     * Schedule the task to be ran repeatedly on the global thread.
+     *
+     * @param delay    The amount of ticks to wait before the first execution.
+     * @param repeat   The amount of ticks to wait between executions.
+     * @param runnable The lambda to run.
+     * @return The created {@link BukkitTask}.
+     */
+    default BukkitTask runGlobalTimer(final long delay,
+                                      final long repeat,
+                                      @NotNull final Runnable runnable) {
+        return runTimer(runnable, delay, repeat);
+    }
+
+    /**
+     * Queue the task to run on the main thread within the plugin's tick budget.
+     * <p>
+     * Budgeted tasks are ran in submission order until the tick budget is used up,
+     * and any remaining tasks carry over to the next tick. Use this for lots of
+     * small tasks that don't need to run on any particular tick.
+     *
+     * @param runnable The lambda to run.
+     */
+    default void runBudgeted(@NotNull final Runnable runnable) {
+        run(runnable);
+    }
+
+    /**
+     * Queue the task to run on the main thread within the plugin's tick budget.
+     * <p>
+     * If a task with the same key is still queued, it is replaced by this one
+     * rather than both running, so (for example) re-rendering a player's menu
+     * several times in one tick only renders it once.
+     * <p>
+     * On Folia, tasks keyed by an entity run on that entity's thread, so key
+     * anything that touches a player by that player.
+     *
+     * @param key      The key to coalesce tasks by.
+     * @param runnable The lambda to run.
+     */
+    default void runBudgeted(@NotNull final Object key,
+                             @NotNull final Runnable runnable) {
+        run(runnable);
+    }
+
+    /**
+     * Set the time budgeted tasks may take each tick.
+     *
+     * @param milliseconds The budget, in milliseconds.
+     */
+    default void setTickBudget(final double milliseconds) {
+        // Override when needed.
+    }
+
     /**
      * Cancel all running tasks from the linked {@link EcoPlugin}.
      */
@@ -24,6 +24,8 @@ public final class NamespacedKeyUtils {
 
     /**
      * Create a NamespacedKey with any namespace and key.
+     * <p>
+     * Keys are interned, so the same instance is usually returned for the same strings.
      *
      * @param namespace The namespace.
      * @param key       The key.
@@ -61,16 +63,7 @@ public final class NamespacedKeyUtils {
      */
     @Nullable
     public static NamespacedKey fromStringOrNull(@NotNull final String string) {
-        int index = string.indexOf(":");
-
-        if (index < 0) {
-            return null;
-        }
-
-        return NamespacedKeyUtils.create(
-                string.substring(0, index),
-                string.substring(index + 1)
-        );
+        return Eco.get().createNamespacedKeyFromString(string);
     }
 
     private NamespacedKeyUtils() {
@@ -0,0 +1,105 @@
+import com.willfp.eco.core.data.ExternalDataStore;
+import com.willfp.eco.core.data.ExternalDataStoreKey;
+import com.willfp.eco.core.data.ExternalDataStoreObjectAdapter;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExternalDataStoreTest {
+    private interface Animal {
+        String name();
+    }
+
+    private record Dog(@NotNull String name) implements Animal {
+
+    }
+
+    private record Point(int x, int y) {
+
+    }
+
+    private static final class AnimalAdapter extends ExternalDataStoreObjectAdapter<Animal, String> {
+        private AnimalAdapter() {
+            super(Animal.class, String.class);
+        }
+
+        @Override
+        public @NotNull String toStoredObject(@NotNull final Animal obj) {
+            return obj.name();
+        }
+
+        @Override
+        public @NotNull Animal toAccessedObject(@NotNull final String obj) {
+            return new Dog(obj);
+        }
+    }
+
+    private static final class PointAdapter extends ExternalDataStoreObjectAdapter<Point, String> {
+        private PointAdapter() {
+            super(Point.class, String.class);
+        }
+
+        @Override
+        public @NotNull String toStoredObject(@NotNull final Point obj) {
+            return obj.x() + "," + obj.y();
+        }
+
+        @Override
+        public @NotNull Point toAccessedObject(@NotNull final String obj) {
+            String[] split = obj.split(",");
+            return new Point(Integer.parseInt(split[0]), Integer.parseInt(split[1]));
+        }
+    }
+
+    @Test
+    public void testWithoutAdapter() {
+        ExternalDataStore.put("test-plain", 5);
+
+        Assertions.assertEquals(5, ExternalDataStore.get("test-plain", Integer.class));
+        Assertions.assertNull(ExternalDataStore.get("test-plain", String.class));
+        Assertions.assertNull(ExternalDataStore.get("test-missing", Integer.class));
+        Assertions.assertEquals(3, ExternalDataStore.get("test-missing", Integer.class, 3));
+    }
+
+    @Test
+    public void testAdapterMatchesSubclasses() {
+        ExternalDataStore.registerAdapter(new AnimalAdapter());
+
+        ExternalDataStore.put("test-dog", new Dog("rex"));
+
+        // Stored through the adapter for the interface, and read back as it.
+        Assertions.assertEquals(new Dog("rex"), ExternalDataStore.get("test-dog", Animal.class));
+
+        // No adapter gives a Dog, so the stored string doesn't match.
+        Assertions.assertNull(ExternalDataStore.get("test-dog", Dog.class));
+
+        // No adapter gives a String, so the stored value is returned as-is.
+        Assertions.assertEquals("rex", ExternalDataStore.get("test-dog", String.class));
+    }
+
+    @Test
+    public void testRegisteringClearsResolvedAdapters() {
+        ExternalDataStore.put("test-point", new Point(1, 2));
+        Assertions.assertEquals(new Point(1, 2), ExternalDataStore.get("test-point", Point.class));
+        Assertions.assertNull(ExternalDataStore.get("test-point", String.class));
+
+        ExternalDataStore.registerAdapter(new PointAdapter());
+
+        ExternalDataStore.put("test-point", new Point(3, 4));
+        Assertions.assertEquals("3,4", ExternalDataStore.get("test-point", String.class));
+        Assertions.assertEquals(new Point(3, 4), ExternalDataStore.get("test-point", Point.class));
+    }
+
+    @Test
+    public void testTypedKeys() {
+        ExternalDataStoreKey<Integer> key = ExternalDataStoreKey.of("test-typed", Integer.class);
+
+        Assertions.assertNull(ExternalDataStore.get(key));
+        Assertions.assertEquals(7, ExternalDataStore.get(key, 7));
+
+        ExternalDataStore.put(key, 10);
+
+        Assertions.assertEquals(10, ExternalDataStore.get(key));
+        Assertions.assertEquals(10, ExternalDataStore.get("test-typed", Integer.class));
+    }
+}
@@ -0,0 +1,52 @@
+import com.willfp.eco.core.lookup.LookupCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LookupCacheTest {
+    @Test
+    public void testKeysAreParsedOnce() {
+        LookupCache<String> cache = new LookupCache<>();
+        AtomicInteger parses = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("A", cache.get("a", key -> {
+                parses.incrementAndGet();
+                return key.toUpperCase();
+            }));
+        }
+
+        Assertions.assertEquals(1, parses.get());
+    }
+
+    @Test
+    public void testKeysAreExact() {
+        LookupCache<String> cache = new LookupCache<>();
+
+        Assertions.assertEquals("a", cache.get("a", key -> key));
+        Assertions.assertEquals("A", cache.get("A", key -> key));
+        Assertions.assertEquals("a ", cache.get("a ", key -> key));
+    }
+
+    @Test
+    public void testClearReparses() {
+        LookupCache<String> cache = new LookupCache<>();
+
+        Assertions.assertEquals("old", cache.get("key", key -> "old"));
+
+        cache.clear();
+
+        Assertions.assertEquals("new", cache.get("key", key -> "new"));
+    }
+
+    @Test
+    public void testSameInstanceIsShared() {
+        LookupCache<Object> cache = new LookupCache<>();
+
+        Object first = cache.get("key", key -> new Object());
+        Object second = cache.get("key", key -> new Object());
+
+        Assertions.assertSame(first, second);
+    }
+}
@@ -0,0 +1,37 @@
+import com.willfp.eco.core.packet.PacketListenerTiming;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PacketListenerTimingTest {
+    private static PacketListenerTiming timing(long... histogram) {
+        long invocations = 0;
+        for (long count : histogram) {
+            invocations += count;
+        }
+
+        return new PacketListenerTiming("eco", "Listener", "Packet", true, invocations, 0, 0, histogram);
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        Assertions.assertEquals(0, timing(0, 0, 0).percentileMicros(0.99));
+        Assertions.assertEquals(0, timing(0, 0, 0).meanNanos());
+    }
+
+    @Test
+    public void testPercentileUsesBucketUpperBound() {
+        // 90 calls under 1μs, 9 from 1-2μs, 1 from 4-8μs.
+        PacketListenerTiming timing = timing(90, 9, 0, 1);
+
+        Assertions.assertEquals(1, timing.percentileMicros(0.5));
+        Assertions.assertEquals(1, timing.percentileMicros(0.9));
+        Assertions.assertEquals(2, timing.percentileMicros(0.95));
+        Assertions.assertEquals(2, timing.percentileMicros(0.99));
+        Assertions.assertEquals(8, timing.percentileMicros(1.0));
+    }
+
+    @Test
+    public void testPercentileInLastBucket() {
+        Assertions.assertEquals(8, timing(0, 0, 0, 5).percentileMicros(0.5));
+    }
+}
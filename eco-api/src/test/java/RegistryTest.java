@@ -0,0 +1,117 @@
+import com.willfp.eco.core.registry.Registrable;
+import com.willfp.eco.core.registry.Registry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class RegistryTest {
+    private record Element(@NotNull String id) implements Registrable {
+        @Override
+        public @NotNull String getID() {
+            return id;
+        }
+    }
+
+    @Test
+    public void testValuesAreReusedUntilChanged() {
+        Registry<Element> registry = new Registry<>();
+        registry.register(new Element("a"));
+
+        Set<Element> values = registry.values();
+
+        Assertions.assertSame(values, registry.values());
+    }
+
+    @Test
+    public void testRegisterInvalidatesValues() {
+        Registry<Element> registry = new Registry<>();
+        Element a = registry.register(new Element("a"));
+
+        Set<Element> before = registry.values();
+        Element b = registry.register(new Element("b"));
+
+        Assertions.assertEquals(Set.of(a), before);
+        Assertions.assertEquals(Set.of(a, b), registry.values());
+    }
+
+    @Test
+    public void testRemoveInvalidatesValues() {
+        Registry<Element> registry = new Registry<>();
+        Element a = registry.register(new Element("a"));
+        Element b = registry.register(new Element("b"));
+
+        registry.values();
+        registry.remove(a);
+
+        Assertions.assertEquals(Set.of(b), registry.values());
+
+        registry.remove("b");
+
+        Assertions.assertTrue(registry.values().isEmpty());
+        Assertions.assertNull(registry.get("b"));
+    }
+
+    @Test
+    public void testReplacingInvalidatesValues() {
+        Registry<Element> registry = new Registry<>();
+        registry.register(new Element("a"));
+
+        registry.values();
+        Element replacement = registry.register(new Element("a"));
+
+        Assertions.assertSame(replacement, registry.values().iterator().next());
+    }
+
+    @Test
+    public void testRemoveWhileIterating() {
+        Registry<Element> registry = new Registry<>();
+        Element a = registry.register(new Element("a"));
+        Element b = registry.register(new Element("b"));
+        Element c = registry.register(new Element("c"));
+
+        Set<Element> values = registry.values();
+        Set<Element> seen = new HashSet<>();
+
+        Assertions.assertDoesNotThrow(() -> {
+            for (Element element : values) {
+                seen.add(element);
+                registry.remove(element);
+            }
+        });
+
+        Assertions.assertEquals(Set.of(a, b, c), seen);
+        Assertions.assertEquals(Set.of(a, b, c), values);
+        Assertions.assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testClearWhileIterating() {
+        Registry<Element> registry = new Registry<>();
+        Element a = registry.register(new Element("a"));
+        Element b = registry.register(new Element("b"));
+
+        Set<Element> seen = new HashSet<>();
+
+        Assertions.assertDoesNotThrow(() -> {
+            for (Element element : registry) {
+                seen.add(element);
+                registry.clear();
+            }
+        });
+
+        Assertions.assertEquals(Set.of(a, b), seen);
+        Assertions.assertTrue(registry.isEmpty());
+        Assertions.assertTrue(registry.values().isEmpty());
+    }
+
+    @Test
+    public void testValuesAreImmutable() {
+        Registry<Element> registry = new Registry<>();
+        registry.register(new Element("a"));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> registry.values().clear());
+    }
+}
@@ -0,0 +1,117 @@
+package com.willfp.eco.core.items;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InventorySummaryTest {
+    // Compared by name rather than meta, as item meta needs a running server.
+    private static final class NamedStack extends ItemStack {
+        private final String name;
+
+        private NamedStack(@NotNull final String name,
+                           final int amount) {
+            super(Material.DIAMOND, amount);
+            this.name = name;
+        }
+
+        @Override
+        public boolean isSimilar(@Nullable final ItemStack stack) {
+            return stack instanceof NamedStack other
+                    && other.name.equals(this.name)
+                    && other.getType() == this.getType();
+        }
+    }
+
+    private static final class NamedItem implements TestableItem {
+        private final String name;
+
+        private int tests = 0;
+
+        private NamedItem(@NotNull final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean matches(@Nullable final ItemStack itemStack) {
+            tests++;
+            return itemStack instanceof NamedStack stack && stack.name.equals(name);
+        }
+
+        @Override
+        public ItemStack getItem() {
+            return new NamedStack(name, 1);
+        }
+    }
+
+    // Every stack has the same hash, as if they had been made to collide.
+    private static InventorySummary colliding(@Nullable final ItemStack... contents) {
+        return new InventorySummary(contents, itemStack -> 0);
+    }
+
+    @Test
+    public void testCollidingStacksAreNotCounted() {
+        InventorySummary summary = colliding(
+                new NamedStack("fake", 64),
+                new NamedStack("real", 10),
+                new NamedStack("fake", 64)
+        );
+
+        Assertions.assertEquals(10, summary.count(new NamedItem("real")));
+        Assertions.assertEquals(128, summary.count(new NamedItem("fake")));
+    }
+
+    @Test
+    public void testCollidingStacksAreNotTaken() {
+        NamedStack fake = new NamedStack("fake", 5);
+        NamedStack real = new NamedStack("real", 5);
+        InventorySummary summary = colliding(fake, real);
+
+        Assertions.assertFalse(summary.remove(new NamedItem("real"), 6));
+        Assertions.assertEquals(5, fake.getAmount());
+        Assertions.assertEquals(5, real.getAmount());
+
+        Assertions.assertTrue(summary.remove(new NamedItem("real"), 5));
+        Assertions.assertEquals(5, fake.getAmount());
+        Assertions.assertEquals(Material.AIR, real.getType());
+    }
+
+    @Test
+    public void testIdenticalStacksAreTestedOnce() {
+        InventorySummary summary = colliding(
+                new NamedStack("real", 1),
+                null,
+                new NamedStack("real", 1),
+                new NamedStack("real", 1)
+        );
+        NamedItem item = new NamedItem("real");
+
+        Assertions.assertEquals(3, summary.count(item));
+        Assertions.assertTrue(summary.has(item, 3));
+        Assertions.assertEquals(1, item.tests);
+    }
+
+    @Test
+    public void testReserveIsAllOrNothing() {
+        NamedStack first = new NamedStack("real", 3);
+        NamedStack second = new NamedStack("real", 4);
+        InventorySummary summary = colliding(first, second);
+        NamedItem item = new NamedItem("real");
+
+        Assertions.assertTrue(summary.reserve(item, 5));
+        Assertions.assertEquals(2, summary.count(item));
+        Assertions.assertFalse(summary.reserve(item, 3));
+
+        // Nothing is removed until committed.
+        Assertions.assertEquals(3, first.getAmount());
+        Assertions.assertEquals(4, second.getAmount());
+
+        summary.commit();
+
+        Assertions.assertEquals(Material.AIR, first.getType());
+        Assertions.assertEquals(2, second.getAmount());
+    }
+}
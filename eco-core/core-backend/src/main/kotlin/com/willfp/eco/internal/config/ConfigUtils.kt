@@ -120,12 +120,15 @@ private object YamlConfigTypeHandler : ConfigTypeHandler(ConfigType.YAML) {
         )
     }
 
+    // Yaml instances aren't thread-safe, but are expensive to create for every file.
+    private val yaml = ThreadLocal.withInitial { newYaml() }
+
     override fun parseToMap(input: String): Map<*, *> {
-        return newYaml().load(input) ?: emptyMap<Any, Any>()
+        return yaml.get().load(input) ?: emptyMap<Any, Any>()
     }
 
     override fun toString(map: Map<String, Any?>): String {
-        return newYaml().dump(map)
+        return yaml.get().dump(map)
     }
 }
 
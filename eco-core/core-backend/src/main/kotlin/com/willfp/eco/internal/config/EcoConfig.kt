@@ -1,13 +1,21 @@
 package com.willfp.eco.internal.config
 
+import com.github.benmanes.caffeine.cache.Caffeine
 import com.willfp.eco.core.config.ConfigType
 import com.willfp.eco.core.config.interfaces.Config
 import com.willfp.eco.core.placeholder.InjectablePlaceholder
 import com.willfp.eco.core.placeholder.context.PlaceholderContext
 import com.willfp.eco.internal.fast.listView
+import com.willfp.eco.internal.placeholder.InjectionIndex
 import com.willfp.eco.util.StringUtils
 import org.bukkit.configuration.file.YamlConfiguration
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+// Paths are read far more often than they are created, so each one is only split once.
+private val splitPaths = Caffeine.newBuilder()
+    .maximumSize(50_000)
+    .build<String, Array<String>> { path -> path.split(".").map { it.intern() }.toTypedArray() }
 
 @Suppress("UNCHECKED_CAST")
 open class EcoConfig(
@@ -21,11 +29,29 @@ open class EcoConfig(
     @Transient
     private var injectionHash = 0
 
+    @Transient
+    @Volatile
+    private var injectionIndex: InjectionIndex? = null
+
+    private val compiledInjections: InjectionIndex
+        get() = injectionIndex ?: InjectionIndex(injections.values.toList()).also { injectionIndex = it }
+
+    @Transient
+    private val revision = AtomicInteger()
+
+    // The config this is a section of, so that changes to sections also change the revision of the root.
+    @Transient
+    @Volatile
+    private var parent: EcoConfig? = null
+
     fun init(values: Map<String, Any?>, injections: Map<String, InjectablePlaceholder>) {
         this.values.clear()
         this.values.putAll(values.normalizeToConfig(this.type))
+        this.values.values.forEach { adopt(it) }
 
         this.addInjectablePlaceholder(injections.values)
+
+        markChanged()
     }
 
     override fun toPlaintext(): String {
@@ -58,25 +84,18 @@ open class EcoConfig(
     }
 
     override fun get(path: String): Any? {
-        val nearestPath = path.split(".")[0]
-
-        if (path.contains(".")) {
-            val remainingPath = path.removePrefix("${nearestPath}.")
-
-            if (remainingPath.isEmpty()) {
-                return null
-            }
+        if (path.indexOf('.') < 0) {
+            return values[path]
+        }
 
-            val first = get(nearestPath)
+        val segments = splitPaths.get(path)
+        var section: Config = this
 
-            return if (first is Config) {
-                first.get(remainingPath)
-            } else {
-                null
-            }
+        for (i in 0 until segments.lastIndex) {
+            section = section.get(segments[i]) as? Config ?: return null
         }
 
-        return values[nearestPath]
+        return section.get(segments.last())
     }
 
     override fun set(
@@ -93,15 +112,42 @@ open class EcoConfig(
             }
 
             val section = getSubsection(nearestPath) // Creates a section if null, therefore it can be set.
+            adopt(section)
             section.set(remainingPath, obj)
             values[nearestPath] = section // Set the value
+
+            if (section !is EcoConfig) {
+                markChanged()
+            }
             return
         }
 
         if (obj == null) {
             values.remove(nearestPath)
         } else {
-            values[nearestPath] = obj.constrainConfigTypes(type)
+            values[nearestPath] = obj.constrainConfigTypes(type).also { adopt(it) }
+        }
+
+        markChanged()
+    }
+
+    override fun getRevision(): Int {
+        return revision.get()
+    }
+
+    private fun markChanged() {
+        revision.incrementAndGet()
+        parent?.markChanged()
+    }
+
+    // Sections that are already part of another config (e.g. shared by clone) keep their parent.
+    private fun adopt(value: Any?) {
+        when (value) {
+            is EcoConfig -> if (value.parent == null && value !== this) {
+                value.parent = this
+            }
+
+            is Iterable<*> -> value.forEach { if (it is EcoConfig) adopt(it) }
         }
     }
 
@@ -146,9 +192,7 @@ open class EcoConfig(
     ): String? {
         var string = get(path)?.toString() ?: return null
         if (format && option == StringUtils.FormatOption.WITH_PLACEHOLDERS) {
-            for (injection in placeholderInjections) {
-                string = injection.tryTranslateQuickly(string, PlaceholderContext.EMPTY)
-            }
+            string = compiledInjections.translate(string, PlaceholderContext.EMPTY)
         }
         return if (format) StringUtils.format(string, option) else string
     }
@@ -161,13 +205,10 @@ open class EcoConfig(
         val strings = getList<Any?>(path)
             ?.map { it?.toString() ?: "" }
             ?.toMutableList() ?: return null
-        if (placeholderInjections.isNotEmpty() && format && option == StringUtils.FormatOption.WITH_PLACEHOLDERS) {
-            strings.replaceAll {
-                var string = it
-                for (injection in placeholderInjections) {
-                    string = injection.tryTranslateQuickly(string, PlaceholderContext.EMPTY)
-                }
-                string
+        if (format && option == StringUtils.FormatOption.WITH_PLACEHOLDERS) {
+            val index = compiledInjections
+            if (!index.isEmpty) {
+                strings.replaceAll { index.translate(it, PlaceholderContext.EMPTY) }
             }
         }
         return if (format) StringUtils.formatList(strings, option) else strings
@@ -183,8 +224,13 @@ open class EcoConfig(
 
     override fun addInjectablePlaceholder(placeholders: Iterable<InjectablePlaceholder>) {
         for (placeholder in placeholders) {
-            injections[placeholder.pattern.pattern()] = placeholder
+            val previous = injections.put(placeholder.pattern.pattern(), placeholder)
             injectionHash = injectionHash xor placeholder.hashCode()
+
+            // Sections are re-injected every time they're fetched, so only recompile on a real change.
+            if (previous !== placeholder) {
+                injectionIndex = null
+            }
         }
     }
 
@@ -195,6 +241,7 @@ open class EcoConfig(
     override fun clearInjectedPlaceholders() {
         injections.clear()
         injectionHash = 0 // Reset the hash
+        injectionIndex = null
     }
 
     override fun toMap(): MutableMap<String, Any?> {
@@ -2,6 +2,7 @@ package com.willfp.eco.internal.config
 
 import com.willfp.eco.core.PluginLike
 import com.willfp.eco.core.config.ConfigType
+import com.willfp.eco.core.config.interfaces.Config
 import com.willfp.eco.core.config.interfaces.LoadableConfig
 import java.io.File
 import java.io.FileInputStream
@@ -10,10 +11,26 @@ import java.io.IOException
 import java.io.InputStreamReader
 import java.io.OutputStream
 import java.io.Reader
-import java.nio.ByteBuffer
-import java.nio.channels.AsynchronousFileChannel
+import java.nio.file.AtomicMoveNotSupportedException
 import java.nio.file.Files
-import java.nio.file.StandardOpenOption
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+// Saves that take longer than this are logged, as they're usually large data files.
+private const val SLOW_SAVE_MILLIS = 1000L
+
+// One thread is plenty, saves are mostly waiting on the disk.
+private val configSaver: ExecutorService by lazy {
+    Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "eco-config-saver").apply {
+            isDaemon = true
+        }
+    }
+}
 
 open class EcoLoadableConfig(
     type: ConfigType,
@@ -28,10 +45,108 @@ open class EcoLoadableConfig(
     private var hasChanged = false
     private val header = mutableListOf<String>()
 
+    // What the file looked like when it was last loaded, to skip reloading unchanged files.
+    // Read when parsing off the main thread.
+    @Volatile
+    private var loadedModified = -1L
+
+    @Volatile
+    private var loadedLength = -1L
+
+    @Volatile
+    private var loadedHash = 0
+
+    // The revision right after loading; changed by set() on the config or any of its subsections.
+    @Volatile
+    private var loadedRevision = -1
+
+    private val changedSinceLoad: Boolean
+        get() = getRevision() != loadedRevision
+
+    // What the file looked like after we last wrote it, so that the watcher ignores our own saves.
+    @Volatile
+    private var lastWritten: WrittenFile? = null
+
+    /**
+     * If the file should be reloaded by the config watcher when it changes.
+     */
+    @Volatile
+    var isWatched = true
+
+    // Async saves only write the latest snapshot, and never overwrite a newer one.
+    private val saveSequence = AtomicLong()
+    private val queuedSave = AtomicReference<SaveSnapshot?>()
+    private val saving = AtomicBoolean(false)
+    private val saveLock = Any()
+    private var writtenSequence = 0L
+
     fun reloadFromFile() {
         runCatching { init(configFile) }.onFailure { it.printStackTrace() }
     }
 
+    /**
+     * Read and parse the file, without changing the config, so that it can be
+     * done off the main thread. Returns null if the file hasn't changed.
+     */
+    fun parseFromFile(): ParsedConfigFile? {
+        val modified = configFile.lastModified()
+        val length = configFile.length()
+
+        if (!changedSinceLoad && modified == loadedModified && length == loadedLength) {
+            return null
+        }
+
+        val contents = InputStreamReader(FileInputStream(configFile), Charsets.UTF_8).readToString()
+        val hash = contents.hashCode()
+
+        val values = if (!changedSinceLoad && hash == loadedHash && loadedLength >= 0) {
+            null // Touched, but the contents are the same.
+        } else {
+            type.toMap(contents)
+        }
+
+        return ParsedConfigFile(contents, values, modified, length, hash)
+    }
+
+    /**
+     * Read and parse the file after it has been changed on disk, without changing
+     * the config. Returns null if the change was one of our own saves.
+     */
+    fun parseExternalChange(): ParsedConfigFile? {
+        val modified = configFile.lastModified()
+        val length = configFile.length()
+        val written = lastWritten
+
+        if (written != null && modified == written.modified && length == written.length) {
+            return null
+        }
+
+        val contents = InputStreamReader(FileInputStream(configFile), Charsets.UTF_8).readToString()
+        val hash = contents.hashCode()
+
+        // Same contents, but the file was touched (e.g. copied back by a backup tool).
+        if (written != null && length == written.length && hash == written.hash) {
+            return null
+        }
+
+        return ParsedConfigFile(contents, type.toMap(contents), modified, length, hash)
+    }
+
+    /**
+     * Apply a file parsed with [parseFromFile].
+     */
+    fun applyParsed(parsed: ParsedConfigFile) {
+        loadedModified = parsed.modified
+        loadedLength = parsed.length
+        loadedHash = parsed.hash
+
+        val values = parsed.values ?: return
+
+        makeHeader(parsed.contents)
+        super.init(values, emptyMap())
+        loadedRevision = getRevision()
+    }
+
     final override fun createFile() {
         val inputStream = source.getResourceAsStream(resourcePath)!!
         val outFile = File(this.plugin.dataFolder, resourcePath)
@@ -65,27 +180,97 @@ open class EcoLoadableConfig(
             }
         }
 
-        if (configFile.delete()) {
-            Files.write(
-                configFile.toPath(),
-                this.toPlaintext().toByteArray(),
-                StandardOpenOption.CREATE,
-                StandardOpenOption.WRITE
-            )
-        }
+        write(snapshot())
     }
 
     override fun saveAsync() {
-        // Save asynchronously using NIO
-        AsynchronousFileChannel.open(
-            configFile.toPath(),
-            StandardOpenOption.WRITE,
-            StandardOpenOption.CREATE
-        ).use { channel ->
-            channel.write(
-                ByteBuffer.wrap(this.toPlaintext().toByteArray()),
-                0
-            )
+        if (requiresChangesToSave && !hasChanged) {
+            return
+        }
+
+        // Values can't be read off the main thread, so the snapshot is taken here.
+        queuedSave.set(snapshot())
+
+        if (saving.compareAndSet(false, true)) {
+            configSaver.execute(::drainSaves)
+        }
+    }
+
+    private fun drainSaves() {
+        do {
+            while (true) {
+                val next = queuedSave.getAndSet(null) ?: break
+                runCatching { write(next) }.onFailure { it.printStackTrace() }
+            }
+
+            saving.set(false)
+        } while (queuedSave.get() != null && saving.compareAndSet(false, true))
+    }
+
+    private fun snapshot(): SaveSnapshot {
+        return SaveSnapshot(
+            saveSequence.incrementAndGet(),
+            header.toList(),
+            this.toMap().deepCopy()
+        )
+    }
+
+    /**
+     * Write to a temporary file and then move it over the config, so that
+     * the config is never left half-written.
+     */
+    private fun write(snapshot: SaveSnapshot) {
+        synchronized(saveLock) {
+            if (snapshot.sequence <= writtenSequence) {
+                return
+            }
+
+            val start = System.nanoTime()
+            val path = configFile.toPath()
+            val temp = path.resolveSibling("$name.tmp")
+
+            val contents = StringBuilder()
+            writeHeader(snapshot.header, contents)
+            for (line in type.toString(snapshot.values).lineSequence()) {
+                if (line.startsWith("#")) {
+                    continue
+                }
+
+                contents.append(line).append('\n')
+            }
+
+            val text = contents.toString()
+
+            Files.newBufferedWriter(temp, Charsets.UTF_8).use { it.write(text) }
+
+            // Recorded before the move, as the watcher may see the file as soon as it's moved.
+            val tempFile = temp.toFile()
+            lastWritten = WrittenFile(tempFile.lastModified(), tempFile.length(), text.hashCode())
+
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+            } catch (e: AtomicMoveNotSupportedException) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING)
+            }
+
+            writtenSequence = snapshot.sequence
+
+            val took = (System.nanoTime() - start) / 1_000_000
+            if (took >= SLOW_SAVE_MILLIS) {
+                plugin.logger.warning("Saving $name took ${took}ms")
+            }
+        }
+    }
+
+    private fun writeHeader(header: List<String>, out: Appendable) {
+        if (this.type == ConfigType.YAML) {
+            for (s in header) {
+                out.append(s + "\n")
+            }
+
+            if (header.isNotEmpty()) {
+                out.append("\n")
+            }
         }
     }
 
@@ -110,21 +295,25 @@ open class EcoLoadableConfig(
     }
 
     fun init(file: File) {
-        init(InputStreamReader(FileInputStream(file), Charsets.UTF_8))
+        val modified = file.lastModified()
+        val length = file.length()
+        val contents = InputStreamReader(FileInputStream(file), Charsets.UTF_8).readToString()
+
+        makeHeader(contents)
+        super.init(type.toMap(contents), emptyMap())
+
+        if (file == configFile) {
+            loadedModified = modified
+            loadedLength = length
+            loadedHash = contents.hashCode()
+            loadedRevision = getRevision()
+        }
     }
 
     override fun toPlaintext(): String {
         val contents = StringBuilder()
 
-        if (this.type == ConfigType.YAML) {
-            for (s in header) {
-                contents.append(s + "\n")
-            }
-
-            if (header.isNotEmpty()) {
-                contents.append("\n")
-            }
-        }
+        writeHeader(header, contents)
 
         for (line in super.toPlaintext().lines()) {
             if (line.startsWith("#")) {
@@ -167,3 +356,44 @@ open class EcoLoadableConfig(
         plugin.configHandler.addConfig(this)
     }
 }
+
+private class WrittenFile(
+    val modified: Long,
+    val length: Long,
+    val hash: Int
+)
+
+private class SaveSnapshot(
+    val sequence: Long,
+    val header: List<String>,
+    val values: Map<String, Any?>
+)
+
+/**
+ * Copy config values, replacing sections with maps so that the copy can be
+ * serialized while the config keeps changing.
+ */
+@Suppress("UNCHECKED_CAST")
+private fun Map<String, Any?>.deepCopy(): Map<String, Any?> {
+    fun copy(value: Any?): Any? = when (value) {
+        is Config -> value.toMap().deepCopy()
+        is Map<*, *> -> (value as Map<String, Any?>).deepCopy()
+        is List<*> -> value.map { copy(it) }
+        else -> value
+    }
+
+    return this.mapValuesTo(LinkedHashMap(this.size)) { copy(it.value) }
+}
+
+/**
+ * A config file read and parsed off the main thread.
+ *
+ * @param values The parsed values, or null if the contents are unchanged.
+ */
+class ParsedConfigFile(
+    val contents: String,
+    val values: Map<String, Any?>?,
+    val modified: Long,
+    val length: Long,
+    val hash: Int
+)
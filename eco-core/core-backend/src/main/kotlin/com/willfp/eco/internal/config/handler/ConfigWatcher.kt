@@ -0,0 +1,149 @@
+package com.willfp.eco.internal.config.handler
+
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.config.interfaces.Config
+import com.willfp.eco.internal.config.EcoLoadableConfig
+import com.willfp.eco.internal.config.ParsedConfigFile
+import java.io.File
+import java.nio.file.ClosedWatchServiceException
+import java.nio.file.FileSystems
+import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+// Editors often write a file several times when saving, so wait for it to settle.
+private const val DEBOUNCE_MILLIS = 500L
+
+/**
+ * Watches the directories holding a plugin's configs, and reloads the configs
+ * whose files change.
+ */
+class ConfigWatcher(
+    private val plugin: EcoPlugin,
+    private val configs: () -> List<EcoLoadableConfig>,
+    private val onReload: (EcoLoadableConfig, Set<String>) -> Unit
+) {
+    private val watchService = FileSystems.getDefault().newWatchService()
+    private val watchedDirectories = ConcurrentHashMap.newKeySet<Path>()
+    private val pending = ConcurrentHashMap.newKeySet<Path>()
+
+    @Volatile
+    private var running = true
+
+    private val thread = Thread(::processEvents, "eco-config-watcher-${plugin.name}").apply {
+        isDaemon = true
+    }
+
+    init {
+        configs().forEach { watch(it) }
+        thread.start()
+    }
+
+    fun watch(config: EcoLoadableConfig) {
+        if (!config.isWatched) {
+            return
+        }
+
+        val directory = config.configFile.parentFile.normalizedPath()
+
+        if (watchedDirectories.add(directory)) {
+            directory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            )
+        }
+    }
+
+    fun stop() {
+        running = false
+        watchService.close()
+    }
+
+    private fun processEvents() {
+        while (running) {
+            val key = try {
+                if (pending.isEmpty()) {
+                    watchService.take()
+                } else {
+                    watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)
+                }
+            } catch (e: ClosedWatchServiceException) {
+                return
+            } catch (e: InterruptedException) {
+                return
+            }
+
+            // Nothing has changed for a while, so the pending files are done being written.
+            if (key == null) {
+                reloadPending()
+                continue
+            }
+
+            val directory = key.watchable() as Path
+            for (event in key.pollEvents()) {
+                val context = event.context() as? Path ?: continue
+                pending += directory.resolve(context).normalize()
+            }
+
+            key.reset()
+        }
+    }
+
+    private fun reloadPending() {
+        val paths = pending.toSet()
+        pending.removeAll(paths)
+
+        val parsed = mutableListOf<Pair<EcoLoadableConfig, ParsedConfigFile>>()
+
+        for (config in configs()) {
+            if (!config.isWatched || config.configFile.normalizedPath() !in paths) {
+                continue
+            }
+
+            runCatching { config.parseExternalChange() }
+                .onSuccess { if (it?.values != null) parsed += config to it }
+                .onFailure { plugin.logger.warning("Failed to reload ${config.name}: ${it.message}") }
+        }
+
+        if (parsed.isEmpty() || !running) {
+            return
+        }
+
+        plugin.scheduler.run {
+            for ((config, file) in parsed) {
+                val before = config.flatten()
+                config.applyParsed(file)
+                val after = config.flatten()
+
+                val changed = (before.keys + after.keys).filterTo(mutableSetOf()) { before[it] != after[it] }
+
+                if (changed.isNotEmpty()) {
+                    onReload(config, changed)
+                }
+            }
+        }
+    }
+}
+
+private fun File.normalizedPath(): Path = this.toPath().toAbsolutePath().normalize()
+
+/**
+ * All leaf values by their deep key, with sections in lists flattened so that
+ * they can be compared by value.
+ */
+private fun Config.flatten(
+    into: MutableMap<String, Any?> = mutableMapOf(),
+    root: String = ""
+): Map<String, Any?> {
+    for (key in this.getKeys(false)) {
+        when (val value = this.get(key)) {
+            is Config -> value.flatten(into, "$root$key.")
+            is List<*> -> into["$root$key"] = value.map { if (it is Config) it.flatten() else it }
+            else -> into["$root$key"] = value
+        }
+    }
+
+    return into
+}
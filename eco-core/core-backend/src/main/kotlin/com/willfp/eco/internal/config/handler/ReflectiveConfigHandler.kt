@@ -6,7 +6,7 @@ import org.reflections.scanners.MethodAnnotationsScanner
 
 class ReflectiveConfigHandler(
     private val plugin: EcoPlugin
-) : SimpleConfigHandler() {
+) : SimpleConfigHandler(plugin) {
     private val reflections: Reflections = Reflections(
         this.plugin::class.java.classLoader,
         MethodAnnotationsScanner()
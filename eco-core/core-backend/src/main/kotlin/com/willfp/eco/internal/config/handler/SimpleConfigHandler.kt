@@ -1,12 +1,34 @@
 package com.willfp.eco.internal.config.handler
 
+import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.config.interfaces.LoadableConfig
+import com.willfp.eco.core.config.updating.ConfigChangeListener
 import com.willfp.eco.core.config.updating.ConfigHandler
 import com.willfp.eco.internal.config.EcoLoadableConfig
 import com.willfp.eco.internal.config.EcoUpdatableConfig
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 
-open class SimpleConfigHandler : ConfigHandler {
-    private val configs = mutableListOf<LoadableConfig>()
+// Shared between all plugins, as reloads are usually done one plugin at a time.
+private val configLoaderThreads = AtomicInteger()
+private val configLoader: ExecutorService by lazy {
+    Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors().coerceIn(1, 4)) { runnable ->
+        Thread(runnable, "eco-config-loader-${configLoaderThreads.incrementAndGet()}").apply {
+            isDaemon = true
+        }
+    }
+}
+
+open class SimpleConfigHandler(
+    private val plugin: EcoPlugin
+) : ConfigHandler {
+    // Read by the watcher thread.
+    private val configs = CopyOnWriteArrayList<LoadableConfig>()
+    private val changeListeners = CopyOnWriteArrayList<ConfigChangeListener>()
+    private var watcher: ConfigWatcher? = null
 
     override fun callUpdate() {
         // Do nothing.
@@ -20,14 +42,63 @@ open class SimpleConfigHandler : ConfigHandler {
 
     override fun addConfig(config: LoadableConfig) {
         configs.add(config)
+
+        if (config is EcoLoadableConfig) {
+            watcher?.watch(config)
+        }
+    }
+
+    override fun startWatching() {
+        if (watcher != null) {
+            return
+        }
+
+        watcher = ConfigWatcher(
+            plugin,
+            { configs.filterIsInstance<EcoLoadableConfig>() }
+        ) { config, changedKeys ->
+            plugin.logger.info("Reloaded ${config.name} (${changedKeys.size} changed)")
+
+            for (listener in changeListeners) {
+                runCatching { listener.onChange(config, changedKeys) }
+                    .onFailure { it.printStackTrace() }
+            }
+        }
+    }
+
+    override fun stopWatching() {
+        watcher?.stop()
+        watcher = null
+    }
+
+    override fun addChangeListener(listener: ConfigChangeListener) {
+        changeListeners.add(listener)
     }
 
     override fun updateConfigs() {
+        // Updatable configs merge in defaults and save, so are kept on this thread.
+        val loadable = mutableListOf<EcoLoadableConfig>()
+
         for (config in configs) {
             when (config) {
                 is EcoUpdatableConfig -> config.update()
-                is EcoLoadableConfig -> config.reloadFromFile()
+                is EcoLoadableConfig -> loadable += config
             }
         }
+
+        if (loadable.size <= 1) {
+            loadable.forEach { it.reloadFromFile() }
+            return
+        }
+
+        // Read and parse files in parallel, then apply them all here.
+        val parsed = loadable.map { config ->
+            CompletableFuture.supplyAsync({ config.parseFromFile() }, configLoader)
+        }
+
+        for ((config, future) in loadable.zip(parsed)) {
+            runCatching { future.join()?.let { config.applyParsed(it) } }
+                .onFailure { it.printStackTrace() }
+        }
     }
 }
@@ -67,8 +67,9 @@ open class EcoDropQueue(val player: Player) : DropQueue() {
         if (items.isEmpty()) {
             return
         }
+        val drops = items.mergeSimilar()
         if (hasTelekinesis) {
-            val leftover = player.inventory.addItem(*items.toTypedArray())
+            val leftover = player.inventory.addItem(*drops.toTypedArray())
             for (drop in leftover.values) {
                 world.dropItem(location, drop!!).velocity = Vector()
             }
@@ -86,7 +87,7 @@ open class EcoDropQueue(val player: Player) : DropQueue() {
                 }
             }
         } else {
-            for (drop in items) {
+            for (drop in drops) {
                 world.dropItem(location, drop).velocity = Vector()
             }
             if (xp > 0) {
@@ -100,3 +101,51 @@ open class EcoDropQueue(val player: Player) : DropQueue() {
         location = player.location
     }
 }
+
+/**
+ * Merge similar items into as few full stacks as possible, so that fewer
+ * item entities are spawned.
+ */
+internal fun List<ItemStack>.mergeSimilar(): List<ItemStack> {
+    if (this.size <= 1) {
+        return this
+    }
+
+    val merged = mutableListOf<ItemStack>()
+    // Stacks that still have room, by material, to only compare items that could be similar.
+    val open = mutableMapOf<Material, MutableList<ItemStack>>()
+
+    for (item in this) {
+        var remaining = item.amount
+        val candidates = open.getOrPut(item.type) { mutableListOf() }
+
+        for (stack in candidates) {
+            if (remaining <= 0) {
+                break
+            }
+
+            if (!stack.isSimilar(item)) {
+                continue
+            }
+
+            val moved = minOf(remaining, stack.maxStackSize - stack.amount)
+            stack.amount += moved
+            remaining -= moved
+        }
+
+        candidates.removeIf { it.amount >= it.maxStackSize }
+
+        while (remaining > 0) {
+            val stack = item.clone()
+            stack.amount = minOf(remaining, item.maxStackSize.coerceAtLeast(1))
+            remaining -= stack.amount
+
+            merged += stack
+            if (stack.amount < stack.maxStackSize) {
+                candidates += stack
+            }
+        }
+    }
+
+    return merged
+}
@@ -7,19 +7,20 @@ import java.util.concurrent.ConcurrentHashMap
 
 class EcoFastCollatedDropQueue(player: Player) : EcoDropQueue(player) {
     override fun push() {
-        val fetched = COLLATED_MAP[player]
-
-        if (fetched == null) {
-            COLLATED_MAP[player] = CollatedDrops(items, location, xp, hasTelekinesis)
-        } else {
-            fetched.addDrops(items)
-            fetched.location = location
-            fetched.addXp(xp)
-            if (this.hasTelekinesis) {
-                fetched.forceTelekinesis()
+        // Pushed from several regions at once on Folia, so entries are only changed inside compute.
+        COLLATED_MAP.compute(player) { _, fetched ->
+            if (fetched == null) {
+                CollatedDrops(items, location, xp, hasTelekinesis)
+            } else {
+                fetched.addDrops(items)
+                fetched.location = location
+                fetched.addXp(xp)
+                if (this.hasTelekinesis) {
+                    fetched.forceTelekinesis()
+                }
+
+                fetched
             }
-
-            COLLATED_MAP[player] = fetched
         }
     }
 
@@ -45,6 +46,6 @@ class EcoFastCollatedDropQueue(player: Player) : EcoDropQueue(player) {
     }
 
     companion object {
-        val COLLATED_MAP: MutableMap<Player, CollatedDrops> = ConcurrentHashMap()
+        val COLLATED_MAP: ConcurrentHashMap<Player, CollatedDrops> = ConcurrentHashMap()
     }
 }
\ No newline at end of file
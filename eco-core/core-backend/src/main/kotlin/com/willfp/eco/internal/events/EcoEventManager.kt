@@ -12,53 +12,121 @@ import org.bukkit.event.Listener
 import java.lang.Exception
 
 
-private class RegisteredPacketListener(
+internal class RegisteredPacketListener(
     val plugin: EcoPlugin,
     val listener: PacketListener
-)
+) {
+    private val packetTypes = listener.packetTypes?.toTypedArray()
+
+    val timings = ListenerTimings()
+
+    val handlesSend = listener.overrides("onSend")
+    val handlesReceive = listener.overrides("onReceive")
+
+    fun accepts(packetClass: Class<*>): Boolean {
+        return packetTypes?.any { it.isAssignableFrom(packetClass) } ?: true
+    }
+}
+
+private fun PacketListener.overrides(method: String): Boolean {
+    return runCatching {
+        this.javaClass.getMethod(method, PacketEvent::class.java).declaringClass != PacketListener::class.java
+    }.getOrDefault(true)
+}
+
+/**
+ * Listeners flattened into priority order, with the listeners that apply
+ * to each packet class resolved lazily and cached per class.
+ */
+private class PacketDispatchTable(val listeners: List<RegisteredPacketListener>) {
+    private val send = listeners.filter { it.handlesSend }.toTypedArray()
+    private val receive = listeners.filter { it.handlesReceive }.toTypedArray()
+
+    val sendListeners = object : ClassValue<Array<RegisteredPacketListener>>() {
+        override fun computeValue(type: Class<*>) = send.filter { it.accepts(type) }.toTypedArray()
+    }
+
+    val receiveListeners = object : ClassValue<Array<RegisteredPacketListener>>() {
+        override fun computeValue(type: Class<*>) = receive.filter { it.accepts(type) }.toTypedArray()
+    }
+}
 
 private val listeners = listMap<PacketPriority, RegisteredPacketListener>()
 
+@Volatile
+private var dispatchTable = PacketDispatchTable(emptyList())
+
+private fun rebuildDispatchTable() {
+    dispatchTable = PacketDispatchTable(PacketPriority.values().flatMap { listeners[it] })
+}
+
+internal fun registeredPacketListeners(): List<RegisteredPacketListener> =
+    dispatchTable.listeners
+
+/**
+ * Get if any packet listener handles sent packets of a class.
+ */
+fun hasSendListeners(packetClass: Class<*>): Boolean =
+    dispatchTable.sendListeners.get(packetClass).isNotEmpty()
+
+/**
+ * Get if any packet listener handles received packets of a class.
+ */
+fun hasReceiveListeners(packetClass: Class<*>): Boolean =
+    dispatchTable.receiveListeners.get(packetClass).isNotEmpty()
+
 fun PacketEvent.handleSend() {
-    for (priority in PacketPriority.values()) {
-        for (listener in listeners[priority]) {
-            try {
-                listener.listener.onSend(this)
-            } catch (e: Throwable) {
-                listener.plugin.logger.warning(
-                    "Exception in packet listener ${listener.listener.javaClass.name}" +
-                            " for packet ${packet.handle.javaClass.name}!"
-                )
-                e.printStackTrace()
-            } catch (e: LinkageError) {
-                listener.plugin.logger.warning(
-                    "Error in packet listener ${listener.listener.javaClass.name}" +
-                            " for packet ${packet.handle.javaClass.name}!"
-                )
-                e.printStackTrace()
-            }
+    val timed = EcoPacketTimings.isEnabled()
+
+    for (listener in dispatchTable.sendListeners.get(packet.handle.javaClass)) {
+        val start = if (timed) System.nanoTime() else 0L
+
+        try {
+            listener.listener.onSend(this)
+        } catch (e: Throwable) {
+            listener.plugin.logger.warning(
+                "Exception in packet listener ${listener.listener.javaClass.name}" +
+                        " for packet ${packet.handle.javaClass.name}!"
+            )
+            e.printStackTrace()
+        } catch (e: LinkageError) {
+            listener.plugin.logger.warning(
+                "Error in packet listener ${listener.listener.javaClass.name}" +
+                        " for packet ${packet.handle.javaClass.name}!"
+            )
+            e.printStackTrace()
+        }
+
+        if (timed) {
+            listener.timings.record(packet.handle.javaClass, true, System.nanoTime() - start)
         }
     }
 }
 
 fun PacketEvent.handleReceive() {
-    for (priority in PacketPriority.values()) {
-        for (listener in listeners[priority]) {
-            try {
-                listener.listener.onReceive(this)
-            } catch (e: Exception) {
-                listener.plugin.logger.warning(
-                    "Exception in packet listener ${listener.listener.javaClass.name}" +
-                            " for packet ${packet.handle.javaClass.name}!"
-                )
-                e.printStackTrace()
-            } catch (e: LinkageError) {
-                listener.plugin.logger.warning(
-                    "Error in packet listener ${listener.listener.javaClass.name}" +
-                            " for packet ${packet.handle.javaClass.name}!"
-                )
-                e.printStackTrace()
-            }
+    val timed = EcoPacketTimings.isEnabled()
+
+    for (listener in dispatchTable.receiveListeners.get(packet.handle.javaClass)) {
+        val start = if (timed) System.nanoTime() else 0L
+
+        try {
+            listener.listener.onReceive(this)
+        } catch (e: Exception) {
+            listener.plugin.logger.warning(
+                "Exception in packet listener ${listener.listener.javaClass.name}" +
+                        " for packet ${packet.handle.javaClass.name}!"
+            )
+            e.printStackTrace()
+        } catch (e: LinkageError) {
+            listener.plugin.logger.warning(
+                "Error in packet listener ${listener.listener.javaClass.name}" +
+                        " for packet ${packet.handle.javaClass.name}!"
+            )
+            e.printStackTrace()
+        }
+
+        if (timed) {
+            listener.timings.record(packet.handle.javaClass, false, System.nanoTime() - start)
         }
     }
 }
@@ -77,6 +145,7 @@ class EcoEventManager(private val plugin: EcoPlugin) : EventManager {
         for (value in listeners.values) {
             value.removeIf { it.plugin == plugin }
         }
+        rebuildDispatchTable()
     }
 
     override fun registerPacketListener(listener: PacketListener) {
@@ -84,5 +153,6 @@ class EcoEventManager(private val plugin: EcoPlugin) : EventManager {
             plugin,
             listener
         )
+        rebuildDispatchTable()
     }
 }
@@ -0,0 +1,107 @@
+package com.willfp.eco.internal.events
+
+import com.willfp.eco.core.packet.PacketListenerTiming
+import com.willfp.eco.core.packet.PacketTimings
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAdder
+
+// Bucket 0 is < 1μs, bucket n is [2^(n-1), 2^n) μs, the last bucket is everything above.
+private const val HISTOGRAM_BUCKETS = 24
+
+/**
+ * Lock-free accumulator for the calls to one listener with one packet type.
+ */
+internal class PacketTimingAccumulator {
+    private val invocations = LongAdder()
+    private val totalNanos = LongAdder()
+    private val maxNanos = AtomicLong()
+    private val histogram = AtomicLongArray(HISTOGRAM_BUCKETS)
+
+    fun record(nanos: Long) {
+        invocations.increment()
+        totalNanos.add(nanos)
+
+        var max = maxNanos.get()
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get()
+        }
+
+        val micros = nanos / 1000
+        val bucket = if (micros <= 0) 0 else 64 - java.lang.Long.numberOfLeadingZeros(micros)
+        histogram.incrementAndGet(bucket.coerceAtMost(HISTOGRAM_BUCKETS - 1))
+    }
+
+    fun snapshot(
+        plugin: String,
+        listener: String,
+        packetType: String,
+        send: Boolean
+    ) = PacketListenerTiming(
+        plugin,
+        listener,
+        packetType,
+        send,
+        invocations.sum(),
+        totalNanos.sum(),
+        maxNanos.get(),
+        LongArray(HISTOGRAM_BUCKETS) { histogram.get(it) }
+    )
+}
+
+/**
+ * Per-listener timings, split by direction and packet class.
+ */
+internal class ListenerTimings {
+    val send = ConcurrentHashMap<Class<*>, PacketTimingAccumulator>()
+    val receive = ConcurrentHashMap<Class<*>, PacketTimingAccumulator>()
+
+    fun record(packetClass: Class<*>, send: Boolean, nanos: Long) {
+        val map = if (send) this.send else this.receive
+        // get() first to avoid computeIfAbsent locking the bin on the hot path.
+        val accumulator = map[packetClass] ?: map.computeIfAbsent(packetClass) { PacketTimingAccumulator() }
+        accumulator.record(nanos)
+    }
+
+    fun clear() {
+        send.clear()
+        receive.clear()
+    }
+}
+
+object EcoPacketTimings : PacketTimings {
+    @Volatile
+    private var enabled = false
+
+    override fun isEnabled() = enabled
+
+    override fun setEnabled(enabled: Boolean) {
+        this.enabled = enabled
+    }
+
+    override fun getTimings(): List<PacketListenerTiming> {
+        val timings = mutableListOf<PacketListenerTiming>()
+
+        for (listener in registeredPacketListeners()) {
+            val plugin = listener.plugin.name
+            val name = listener.listener.javaClass.name
+
+            for ((packetClass, accumulator) in listener.timings.send) {
+                timings += accumulator.snapshot(plugin, name, packetClass.name, true)
+            }
+
+            for ((packetClass, accumulator) in listener.timings.receive) {
+                timings += accumulator.snapshot(plugin, name, packetClass.name, false)
+            }
+        }
+
+        return timings
+    }
+
+    override fun reset() {
+        for (listener in registeredPacketListeners()) {
+            listener.timings.clear()
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.willfp.eco.internal.factory
 
 import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.Prerequisite
 import com.willfp.eco.core.factory.RunnableFactory
 import com.willfp.eco.core.scheduling.RunnableTask
 import com.willfp.eco.internal.scheduling.EcoRunnableTask
+import com.willfp.eco.internal.scheduling.SchedulerRunnableTask
 import java.util.function.Consumer
 
 class EcoRunnableFactory(private val plugin: EcoPlugin) : RunnableFactory {
     override fun create(consumer: Consumer<RunnableTask>): RunnableTask {
+        if (Prerequisite.HAS_FOLIA.isMet) {
+            return object : SchedulerRunnableTask(plugin) {
+                override fun run() {
+                    consumer.accept(this)
+                }
+            }
+        }
+
         return object : EcoRunnableTask(plugin) {
             override fun run() {
                 consumer.accept(this)
             }
         }
     }
-}
\ No newline at end of file
+}
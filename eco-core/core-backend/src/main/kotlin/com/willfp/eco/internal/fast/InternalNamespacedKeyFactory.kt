@@ -1,10 +1,22 @@
 package com.willfp.eco.internal.fast
 
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
 import org.bukkit.NamespacedKey
 import org.objenesis.ObjenesisStd
 
 interface InternalNamespacedKeyFactory {
     fun create(namespace: String, key: String): NamespacedKey
+
+    fun fromString(string: String): NamespacedKey? {
+        val index = string.indexOf(':')
+
+        if (index < 0) {
+            return null
+        }
+
+        return create(string.substring(0, index), string.substring(index + 1))
+    }
 }
 
 class FastInternalNamespacedKeyFactory : InternalNamespacedKeyFactory {
@@ -28,3 +40,65 @@ class SafeInternalNamespacedKeyFactory : InternalNamespacedKeyFactory {
         return NamespacedKey(namespace, key)
     }
 }
+
+/*
+Hands out one instance per key, so that keys built from the same strings over and over
+(PDC keys, registry lookups, enchantment IDs) don't allocate and mostly compare by identity.
+Keys are always created (and validated) by the delegate, and only its result is interned,
+so differently cased input that the delegate accepts shares the instance of its canonical form.
+
+Keys are looked up by namespace and then by key, so a hit doesn't allocate, and fromString
+has its own cache by the whole string to skip splitting it. Every cache is bounded, so an
+evicted key may be recreated as a new (but equal) instance.
+ */
+
+class InterningNamespacedKeyFactory(
+    private val delegate: InternalNamespacedKeyFactory
+) : InternalNamespacedKeyFactory {
+    private val namespaces: Cache<String, Cache<String, NamespacedKey>> = Caffeine.newBuilder()
+        .maximumSize(MAX_NAMESPACES)
+        .build()
+
+    private val strings: Cache<String, NamespacedKey> = Caffeine.newBuilder()
+        .maximumSize(MAX_KEYS)
+        .build()
+
+    override fun create(namespace: String, key: String): NamespacedKey {
+        val keys = keysIn(namespace)
+
+        keys.getIfPresent(key)?.let { return it }
+
+        val created = delegate.create(namespace, key)
+
+        val canonical = if (created.namespace == namespace && created.key == key) {
+            created
+        } else {
+            keysIn(created.namespace).asMap()
+                .putIfAbsent(created.key, created) ?: created
+        }
+
+        return keys.asMap().putIfAbsent(key, canonical) ?: canonical
+    }
+
+    override fun fromString(string: String): NamespacedKey? {
+        strings.getIfPresent(string)?.let { return it }
+
+        val created = super.fromString(string) ?: return null
+
+        return strings.asMap().putIfAbsent(string, created) ?: created
+    }
+
+    // Checked before get() so that a hit doesn't allocate the mapping function.
+    private fun keysIn(namespace: String): Cache<String, NamespacedKey> {
+        return namespaces.getIfPresent(namespace) ?: namespaces.get(namespace) {
+            Caffeine.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .build<String, NamespacedKey>()
+        }
+    }
+
+    companion object {
+        private const val MAX_NAMESPACES = 256L
+        private const val MAX_KEYS = 10_000L
+    }
+}
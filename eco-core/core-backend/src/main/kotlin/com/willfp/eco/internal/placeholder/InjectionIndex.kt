@@ -0,0 +1,116 @@
+package com.willfp.eco.internal.placeholder
+
+import com.willfp.eco.core.placeholder.InjectablePlaceholder
+import com.willfp.eco.core.placeholder.PlayerStaticPlaceholder
+import com.willfp.eco.core.placeholder.StaticPlaceholder
+import com.willfp.eco.core.placeholder.context.PlaceholderContext
+import com.willfp.eco.core.placeholder.templates.SimpleInjectablePlaceholder
+
+/**
+ * Injections compiled for translating many strings.
+ *
+ * Placeholders that are a plain %identifier% replacement are looked up by
+ * identifier during a single scan over the %...% tokens in the text, so only
+ * the ones actually present are evaluated. Any other injection, including
+ * subclasses that override [InjectablePlaceholder.tryTranslateQuickly], falls
+ * back to calling it.
+ *
+ * Values inserted by the scan are not scanned again, so a value containing
+ * another %identifier% is left as-is.
+ */
+class InjectionIndex(injections: Iterable<InjectablePlaceholder>) {
+    private val byIdentifier = HashMap<String, InjectablePlaceholder>()
+    private val others = mutableListOf<InjectablePlaceholder>()
+    private var maxIdentifierLength = 0
+
+    init {
+        for (injection in injections) {
+            if (isIndexable(injection)) {
+                // These are all compiled as literal patterns, so the pattern is the identifier.
+                val identifier = injection.pattern.pattern()
+                byIdentifier[identifier] = injection
+                maxIdentifierLength = maxOf(maxIdentifierLength, identifier.length)
+            } else {
+                others += injection
+            }
+        }
+    }
+
+    val isEmpty: Boolean
+        get() = byIdentifier.isEmpty() && others.isEmpty()
+
+    fun translate(text: String, context: PlaceholderContext): String {
+        var result = if (byIdentifier.isEmpty()) text else translateIndexed(text, context)
+
+        for (injection in others) {
+            result = injection.tryTranslateQuickly(result, context)
+        }
+
+        return result
+    }
+
+    private fun translateIndexed(text: String, context: PlaceholderContext): String {
+        var start = text.indexOf('%')
+        if (start < 0) {
+            return text
+        }
+
+        var builder: StringBuilder? = null
+        var copied = 0
+
+        while (start >= 0) {
+            val end = text.indexOf('%', start + 1)
+            if (end < 0) {
+                break
+            }
+
+            val length = end - start - 1
+            val injection = if (length in 1..maxIdentifierLength) {
+                byIdentifier[text.substring(start + 1, end)]
+            } else null
+
+            if (injection == null) {
+                // The closing % may be the opening of the next placeholder, e.g. "50% %level%".
+                start = end
+                continue
+            }
+
+            val sb = builder ?: StringBuilder(text.length + 16).also { builder = it }
+            sb.append(text, copied, start)
+            sb.append(injection.getValue(text.substring(start + 1, end), context) ?: "")
+
+            copied = end + 1
+            start = text.indexOf('%', copied)
+        }
+
+        val sb = builder ?: return text
+        sb.append(text, copied, text.length)
+        return sb.toString()
+    }
+}
+
+// The classes whose tryTranslateQuickly is a plain %identifier% replacement.
+private val indexableClasses = setOf(
+    SimpleInjectablePlaceholder::class.java,
+    StaticPlaceholder::class.java,
+    PlayerStaticPlaceholder::class.java
+)
+
+private val translatesPlainly = object : ClassValue<Boolean>() {
+    override fun computeValue(type: Class<*>): Boolean {
+        val method = type.getMethod(
+            "tryTranslateQuickly",
+            String::class.java,
+            PlaceholderContext::class.java
+        )
+
+        return method.declaringClass in indexableClasses
+    }
+}
+
+private fun isIndexable(injection: InjectablePlaceholder): Boolean {
+    return (injection is SimpleInjectablePlaceholder
+            || injection is StaticPlaceholder
+            || injection is PlayerStaticPlaceholder)
+            && translatesPlainly.get(injection.javaClass)
+}
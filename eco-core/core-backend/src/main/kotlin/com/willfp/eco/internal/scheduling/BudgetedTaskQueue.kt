@@ -0,0 +1,71 @@
+package com.willfp.eco.internal.scheduling
+
+import com.willfp.eco.core.EcoPlugin
+import org.bukkit.scheduler.BukkitTask
+
+/**
+ * Queue of main thread tasks ran within a per-tick time budget.
+ *
+ * Tasks are stored in a LinkedHashMap so that re-submitting a key replaces the
+ * queued task without changing its place in the queue; unkeyed tasks get a
+ * unique key of their own.
+ */
+class BudgetedTaskQueue(
+    private val plugin: EcoPlugin,
+    @Volatile var budgetNanos: Long
+) {
+    private val tasks = LinkedHashMap<Any, Runnable>()
+    private var ticker: BukkitTask? = null
+
+    fun submit(key: Any, runnable: Runnable) {
+        synchronized(tasks) {
+            tasks[key] = runnable
+
+            if (ticker == null) {
+                ticker = plugin.scheduler.runGlobalTimer(1, 1) { tick() }
+            }
+        }
+    }
+
+    fun submit(runnable: Runnable) = submit(Any(), runnable)
+
+    fun clear() {
+        synchronized(tasks) {
+            tasks.clear()
+            ticker?.cancel()
+            ticker = null
+        }
+    }
+
+    private fun tick() {
+        val deadline = System.nanoTime() + budgetNanos
+
+        // Always run at least one task per tick so that the queue makes progress.
+        do {
+            val task = poll() ?: return
+
+            try {
+                task.run()
+            } catch (e: Exception) {
+                plugin.logger.warning("Exception in budgeted task!")
+                e.printStackTrace()
+            }
+        } while (System.nanoTime() < deadline)
+    }
+
+    private fun poll(): Runnable? {
+        synchronized(tasks) {
+            val iterator = tasks.values.iterator()
+
+            if (!iterator.hasNext()) {
+                ticker?.cancel()
+                ticker = null
+                return null
+            }
+
+            val task = iterator.next()
+            iterator.remove()
+            return task
+        }
+    }
+}
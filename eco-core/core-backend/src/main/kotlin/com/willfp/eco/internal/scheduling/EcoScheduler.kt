@@ -1,11 +1,19 @@
 package com.willfp.eco.internal.scheduling
 
+import com.willfp.eco.core.Eco
 import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.scheduling.Scheduler
 import org.bukkit.Bukkit
 import org.bukkit.scheduler.BukkitTask
 
 class EcoScheduler(private val plugin: EcoPlugin) : Scheduler {
+    private val budgeted by lazy {
+        BudgetedTaskQueue(
+            plugin,
+            (Eco.get().ecoPlugin.configYml.getDouble("budgeted-tasks.tick-budget") * 1_000_000).toLong()
+        )
+    }
+
     override fun runLater(
         runnable: Runnable,
         ticksLater: Long
@@ -45,7 +53,20 @@ class EcoScheduler(private val plugin: EcoPlugin) : Scheduler {
         return Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, runnable, delay, repeat)
     }
 
+    override fun runBudgeted(runnable: Runnable) {
+        budgeted.submit(runnable)
+    }
+
+    override fun runBudgeted(key: Any, runnable: Runnable) {
+        budgeted.submit(key, runnable)
+    }
+
+    override fun setTickBudget(milliseconds: Double) {
+        budgeted.budgetNanos = (milliseconds * 1_000_000).toLong()
+    }
+
     override fun cancelAll() {
+        budgeted.clear()
         Bukkit.getScheduler().cancelTasks(plugin)
     }
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.willfp.eco.internal.scheduling
+
+import com.willfp.eco.core.Eco
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.scheduling.Scheduler
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask
+import org.bukkit.Bukkit
+import org.bukkit.Location
+import org.bukkit.entity.Entity
+import org.bukkit.plugin.Plugin
+import org.bukkit.scheduler.BukkitTask
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+
+/*
+Folia has no main thread, so tasks that aren't tied to an entity or location
+run on the global region, and async tasks run on folia's async scheduler.
+
+Folia requires delays of at least one tick.
+
+Budgeted tasks keyed by an entity (such as menu renders) are dispatched to that
+entity's scheduler rather than being ran on the global region.
+
+Entity and region schedulers can't cancel every task for a plugin, so those tasks
+are tracked until they've run, to be cancelled by cancelAll.
+ */
+
+class FoliaScheduler(private val plugin: EcoPlugin) : Scheduler {
+    private val regionTasks: MutableSet<ScheduledTask> = ConcurrentHashMap.newKeySet()
+
+    private val budgeted by lazy {
+        BudgetedTaskQueue(
+            plugin,
+            (Eco.get().ecoPlugin.configYml.getDouble("budgeted-tasks.tick-budget") * 1_000_000).toLong()
+        )
+    }
+
+    override fun runLater(
+        runnable: Runnable,
+        ticksLater: Long
+    ): BukkitTask {
+        if (ticksLater < 1) {
+            return run(runnable)
+        }
+
+        return FoliaTask(
+            Bukkit.getGlobalRegionScheduler().runDelayed(plugin, { runnable.run() }, ticksLater),
+            true
+        )
+    }
+
+    override fun runTimer(
+        runnable: Runnable,
+        delay: Long,
+        repeat: Long
+    ): BukkitTask {
+        return FoliaTask(
+            Bukkit.getGlobalRegionScheduler().runAtFixedRate(
+                plugin,
+                { runnable.run() },
+                delay.coerceAtLeast(1),
+                repeat.coerceAtLeast(1)
+            ),
+            true
+        )
+    }
+
+    override fun runAsyncTimer(
+        runnable: Runnable,
+        delay: Long,
+        repeat: Long
+    ): BukkitTask {
+        return FoliaTask(
+            Bukkit.getAsyncScheduler().runAtFixedRate(
+                plugin,
+                { runnable.run() },
+                delay.coerceAtLeast(0) * 50,
+                repeat.coerceAtLeast(1) * 50,
+                TimeUnit.MILLISECONDS
+            ),
+            false
+        )
+    }
+
+    override fun run(runnable: Runnable): BukkitTask {
+        return FoliaTask(
+            Bukkit.getGlobalRegionScheduler().run(plugin) { runnable.run() },
+            true
+        )
+    }
+
+    override fun runAsync(runnable: Runnable): BukkitTask {
+        return FoliaTask(
+            Bukkit.getAsyncScheduler().runNow(plugin) { runnable.run() },
+            false
+        )
+    }
+
+    override fun syncRepeating(
+        runnable: Runnable,
+        delay: Long,
+        repeat: Long
+    ): Int {
+        return runTimer(runnable, delay, repeat).taskId
+    }
+
+    override fun runOnEntity(entity: Entity, runnable: Runnable) {
+        track(entity.scheduler.run(plugin, tracked(runnable), null))
+    }
+
+    override fun runOnEntityLater(entity: Entity, ticksLater: Long, runnable: Runnable) {
+        track(entity.scheduler.runDelayed(plugin, tracked(runnable), null, ticksLater.coerceAtLeast(1)))
+    }
+
+    override fun runAt(location: Location, runnable: Runnable) {
+        track(Bukkit.getRegionScheduler().run(plugin, location, tracked(runnable)))
+    }
+
+    override fun runAtLater(location: Location, ticksLater: Long, runnable: Runnable) {
+        track(Bukkit.getRegionScheduler().runDelayed(plugin, location, tracked(runnable), ticksLater.coerceAtLeast(1)))
+    }
+
+    private fun tracked(runnable: Runnable): Consumer<ScheduledTask> {
+        return Consumer { task ->
+            try {
+                runnable.run()
+            } finally {
+                regionTasks -= task
+            }
+        }
+    }
+
+    private fun track(task: ScheduledTask?) {
+        task ?: return // The entity was removed.
+
+        regionTasks += task
+
+        // It may have already run, or been retired with its entity.
+        if (task.isDone) {
+            regionTasks -= task
+        }
+
+        if (regionTasks.size > PRUNE_THRESHOLD) {
+            regionTasks.removeIf { it.isDone }
+        }
+    }
+
+    private val ScheduledTask.isDone: Boolean
+        get() = this.executionState == ScheduledTask.ExecutionState.FINISHED
+                || this.executionState == ScheduledTask.ExecutionState.CANCELLED
+
+    override fun runGlobally(runnable: Runnable) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, runnable)
+    }
+
+    override fun runGlobalTimer(delay: Long, repeat: Long, runnable: Runnable): BukkitTask {
+        return runTimer(runnable, delay, repeat)
+    }
+
+    override fun runBudgeted(runnable: Runnable) {
+        budgeted.submit(runnable)
+    }
+
+    override fun runBudgeted(key: Any, runnable: Runnable) {
+        if (key is Entity) {
+            budgeted.submit(key) { runOnEntity(key, runnable) }
+        } else {
+            budgeted.submit(key, runnable)
+        }
+    }
+
+    override fun setTickBudget(milliseconds: Double) {
+        budgeted.budgetNanos = (milliseconds * 1_000_000).toLong()
+    }
+
+    override fun cancelAll() {
+        budgeted.clear()
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin)
+        Bukkit.getAsyncScheduler().cancelTasks(plugin)
+
+        for (task in regionTasks) {
+            task.cancel()
+        }
+        regionTasks.clear()
+    }
+
+    companion object {
+        private const val PRUNE_THRESHOLD = 4096
+    }
+}
+
+private val foliaTaskIds = AtomicInteger()
+
+/**
+ * Lets folia tasks be used where a [BukkitTask] is expected.
+ */
+private class FoliaTask(
+    private val handle: ScheduledTask,
+    private val sync: Boolean
+) : BukkitTask {
+    private val id = foliaTaskIds.incrementAndGet()
+
+    override fun getTaskId(): Int = id
+
+    override fun getOwner(): Plugin = handle.owningPlugin
+
+    override fun isSync(): Boolean = sync
+
+    override fun isCancelled(): Boolean = handle.isCancelled
+
+    override fun cancel() {
+        handle.cancel()
+    }
+}
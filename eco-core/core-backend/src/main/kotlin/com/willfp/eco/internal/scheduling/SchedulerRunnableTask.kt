@@ -0,0 +1,63 @@
+package com.willfp.eco.internal.scheduling
+
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.scheduling.RunnableTask
+import org.bukkit.scheduler.BukkitTask
+
+/*
+BukkitRunnable can't be used on folia, as every BukkitScheduler method throws there,
+so runnable tasks are scheduled through the plugin's scheduler instead.
+
+Like BukkitRunnable, a task can only be scheduled once.
+ */
+
+abstract class SchedulerRunnableTask(protected val plugin: EcoPlugin) : RunnableTask {
+    @Volatile
+    private var task: BukkitTask? = null
+
+    @Volatile
+    private var cancelled = false
+
+    @Synchronized
+    private fun schedule(create: () -> BukkitTask): BukkitTask {
+        check(task == null) { "Already scheduled as ${task?.taskId}" }
+        return create().also { task = it }
+    }
+
+    private fun runUnlessCancelled() {
+        if (!cancelled) {
+            run()
+        }
+    }
+
+    override fun runTask(): BukkitTask {
+        return schedule { plugin.scheduler.run(::runUnlessCancelled) }
+    }
+
+    override fun runTaskAsynchronously(): BukkitTask {
+        return schedule { plugin.scheduler.runAsync(::runUnlessCancelled) }
+    }
+
+    override fun runTaskLater(delay: Long): BukkitTask {
+        return schedule { plugin.scheduler.runLater(::runUnlessCancelled, delay) }
+    }
+
+    override fun runTaskLaterAsynchronously(delay: Long): BukkitTask {
+        return schedule {
+            plugin.scheduler.runLater({ plugin.scheduler.runAsync(::runUnlessCancelled) }, delay)
+        }
+    }
+
+    override fun runTaskTimer(delay: Long, period: Long): BukkitTask {
+        return schedule { plugin.scheduler.runTimer(::runUnlessCancelled, delay, period) }
+    }
+
+    override fun runTaskTimerAsynchronously(delay: Long, period: Long): BukkitTask {
+        return schedule { plugin.scheduler.runAsyncTimer(::runUnlessCancelled, delay, period) }
+    }
+
+    override fun cancel() {
+        cancelled = true
+        task?.cancel()
+    }
+}
@@ -25,6 +25,7 @@ import org.bukkit.enchantments.Enchantment
 import org.bukkit.inventory.ItemFlag
 import org.bukkit.persistence.PersistentDataContainer
 import org.bukkit.persistence.PersistentDataType
+import java.util.function.Consumer
 import kotlin.experimental.and
 import kotlin.experimental.inv
 import kotlin.experimental.or
@@ -36,6 +37,18 @@ class EcoFastItemStack(
     private val handle = bukkit.asNMSStack()
     private val pdc = (if (handle.hasTag()) handle.getTag()!! else CompoundTag()).makePdc()
 
+    // Memoized reads, only valid until the next call to apply().
+    private var hashValid = false
+    private var cachedHash = 0
+    private var cachedLoreComponents: List<Component>? = null
+    private var cachedLore: List<String>? = null
+    private var cachedDisplayNameComponent: Component? = null
+    private var cachedDisplayName: String? = null
+
+    // Nesting depth of edit() calls; apply() is deferred while this is above 0.
+    private var editDepth = 0
+    private var pendingApply = false
+
     override fun getEnchants(checkStored: Boolean): Map<Enchantment, Int> {
         val enchantmentNBT =
             if (checkStored && handle.getItem() === Items.ENCHANTED_BOOK) EnchantedBookItem.getEnchantments(
@@ -105,6 +118,11 @@ class EcoFastItemStack(
     }
 
     override fun getLoreComponents(): List<Component> {
+        val cached = cachedLoreComponents ?: readLoreComponents().also { cachedLoreComponents = it }
+        return cached.toMutableList()
+    }
+
+    private fun readLoreComponents(): List<Component> {
         val displayTag = handle.getTagElement("display") ?: return emptyList()
 
         if (!displayTag.contains("Lore")) {
@@ -121,8 +139,12 @@ class EcoFastItemStack(
         return jsonLore.map { StringUtils.jsonToComponent(it) }
     }
 
-    override fun getLore(): List<String> =
-        getLoreComponents().map { StringUtils.toLegacy(it) }
+    override fun getLore(): List<String> {
+        val cached = cachedLore ?: (cachedLoreComponents ?: readLoreComponents().also { cachedLoreComponents = it })
+            .map { StringUtils.toLegacy(it) }
+            .also { cachedLore = it }
+        return cached.toMutableList()
+    }
 
     override fun setDisplayName(name: Component?) {
         val displayTag = handle.getOrCreateTagElement("display")
@@ -138,7 +160,10 @@ class EcoFastItemStack(
 
     override fun setDisplayName(name: String?) = setDisplayName(name?.toComponent())
 
-    override fun getDisplayNameComponent(): Component {
+    override fun getDisplayNameComponent(): Component =
+        cachedDisplayNameComponent ?: readDisplayNameComponent().also { cachedDisplayNameComponent = it }
+
+    private fun readDisplayNameComponent(): Component {
         val displayTag =
             handle.getTagElement("display") ?: return Component.translatable(bukkit.type.toItem().getDescriptionId())
 
@@ -151,7 +176,8 @@ class EcoFastItemStack(
         return StringUtils.jsonToComponent(nameTag)
     }
 
-    override fun getDisplayName(): String = displayNameComponent.toLegacy()
+    override fun getDisplayName(): String =
+        cachedDisplayName ?: displayNameComponent.toLegacy().also { cachedDisplayName = it }
 
     override fun addItemFlags(vararg hideFlags: ItemFlag) {
         for (f in hideFlags) {
@@ -255,11 +281,48 @@ class EcoFastItemStack(
     }
 
     override fun hashCode(): Int {
-        @Suppress("RedundantSuppression", "UNNECESSARY_SAFE_CALL")
-        return handle.getTag()?.hashCode() ?: (0b00010101 * 31 + Item.getId(handle.getItem()))
+        if (!hashValid) {
+            @Suppress("RedundantSuppression", "UNNECESSARY_SAFE_CALL")
+            cachedHash = handle.getTag()?.hashCode() ?: (0b00010101 * 31 + Item.getId(handle.getItem()))
+            hashValid = true
+        }
+
+        return cachedHash
+    }
+
+    private fun invalidate() {
+        hashValid = false
+        cachedLoreComponents = null
+        cachedLore = null
+        cachedDisplayNameComponent = null
+        cachedDisplayName = null
+    }
+
+    override fun edit(action: Consumer<FastItemStack>): FastItemStack {
+        editDepth++
+
+        try {
+            action.accept(this)
+        } finally {
+            editDepth--
+
+            if (editDepth == 0 && pendingApply) {
+                pendingApply = false
+                apply()
+            }
+        }
+
+        return this
     }
 
     internal fun apply() {
+        invalidate()
+
+        if (editDepth > 0) {
+            pendingApply = true
+            return
+        }
+
         if (handle.hasTag()) {
             handle.getTag()?.setPdc(this.pdc)
         }
@@ -4,44 +4,44 @@ import com.willfp.eco.core.packet.Packet
 import com.willfp.eco.core.packet.PacketEvent
 import com.willfp.eco.internal.events.handleReceive
 import com.willfp.eco.internal.events.handleSend
+import com.willfp.eco.internal.events.hasReceiveListeners
+import com.willfp.eco.internal.events.hasSendListeners
 import io.netty.channel.ChannelDuplexHandler
 import io.netty.channel.ChannelHandlerContext
 import io.netty.channel.ChannelPromise
-import org.bukkit.Bukkit
-import java.util.UUID
+import org.bukkit.entity.Player
 
 class EcoChannelDuplexHandler(
-    private val uuid: UUID
+    private val player: Player
 ) : ChannelDuplexHandler() {
 
     override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
-        val player = Bukkit.getPlayer(uuid)
+        // Packets are sent before login finishes and after quitting, when the player isn't usable.
+        if (!hasReceiveListeners(msg.javaClass) || !player.isOnline) {
+            super.channelRead(ctx, msg)
+            return
+        }
 
-        if (player != null) {
-            val event = PacketEvent(Packet(msg), player)
+        val event = PacketEvent(Packet(msg), player)
 
-            event.handleReceive()
+        event.handleReceive()
 
-            if (!event.isCancelled) {
-                super.channelRead(ctx, msg)
-            }
-        } else {
+        if (!event.isCancelled) {
             super.channelRead(ctx, msg)
         }
     }
 
     override fun write(ctx: ChannelHandlerContext, msg: Any, promise: ChannelPromise) {
-        val player = Bukkit.getPlayer(uuid)
+        if (!hasSendListeners(msg.javaClass) || !player.isOnline) {
+            super.write(ctx, msg, promise)
+            return
+        }
 
-        if (player != null) {
-            val event = PacketEvent(Packet(msg), player)
+        val event = PacketEvent(Packet(msg), player)
 
-            event.handleSend()
+        event.handleSend()
 
-            if (!event.isCancelled) {
-                super.write(ctx, msg, promise)
-            }
-        } else {
+        if (!event.isCancelled) {
             super.write(ctx, msg, promise)
         }
     }
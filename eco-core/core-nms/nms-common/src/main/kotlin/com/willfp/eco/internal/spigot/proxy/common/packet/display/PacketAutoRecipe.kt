@@ -9,6 +9,8 @@ import net.minecraft.resources.ResourceLocation
 class PacketAutoRecipe(
     private val plugin: EcoPlugin
 ) : PacketListener {
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ClientboundPlaceGhostRecipePacket::class.java)
+
     override fun onSend(event: PacketEvent) {
         val packet = event.packet.handle as? ClientboundPlaceGhostRecipePacket ?: return
 
@@ -17,6 +17,8 @@ object PacketOpenWindowMerchant : PacketListener {
         .first { it.type == MerchantOffers::class.java }
         .apply { isAccessible = true }
 
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ClientboundMerchantOffersPacket::class.java)
+
     override fun onSend(event: PacketEvent) {
         val packet = event.packet.handle as? ClientboundMerchantOffersPacket ?: return
 
@@ -9,6 +9,8 @@ import com.willfp.eco.internal.spigot.proxy.common.packet.display.frame.lastDisp
 import net.minecraft.network.protocol.game.ServerboundSetCreativeModeSlotPacket
 
 object PacketSetCreativeSlot : PacketListener {
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ServerboundSetCreativeModeSlotPacket::class.java)
+
     override fun onReceive(event: PacketEvent) {
         val packet = event.packet.handle as? ServerboundSetCreativeModeSlotPacket ?: return
 
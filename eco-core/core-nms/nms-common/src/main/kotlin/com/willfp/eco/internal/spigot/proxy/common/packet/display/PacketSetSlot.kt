@@ -9,6 +9,8 @@ import com.willfp.eco.internal.spigot.proxy.common.packet.display.frame.lastDisp
 import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket
 
 object PacketSetSlot : PacketListener {
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ClientboundContainerSetSlotPacket::class.java)
+
     override fun onSend(event: PacketEvent) {
         val packet = event.packet.handle as? ClientboundContainerSetSlotPacket ?: return
 
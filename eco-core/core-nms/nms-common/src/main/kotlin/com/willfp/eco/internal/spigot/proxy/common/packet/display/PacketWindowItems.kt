@@ -25,6 +25,8 @@ class PacketWindowItems(
         .first { it.type == List::class.java }
         .apply { isAccessible = true }
 
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ClientboundContainerSetContentPacket::class.java)
+
     override fun onSend(event: PacketEvent) {
         val packet = event.packet.handle as? ClientboundContainerSetContentPacket ?: return
         val player = event.player
@@ -23,6 +23,8 @@ object PacketChat : PacketListener {
         .first { it.type == net.minecraft.network.chat.Component::class.java }
         .apply { isAccessible = true }
 
+    override fun getPacketTypes(): Collection<Class<*>> = listOf(ClientboundChatPacket::class.java)
+
     override fun onSend(event: PacketEvent) {
         val packet = event.packet.handle as? ClientboundChatPacket ?: return
 
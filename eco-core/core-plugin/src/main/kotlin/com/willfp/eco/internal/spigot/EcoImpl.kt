@@ -25,12 +25,14 @@ import com.willfp.eco.internal.config.handler.SimpleConfigHandler
 import com.willfp.eco.internal.drops.EcoDropQueue
 import com.willfp.eco.internal.drops.EcoFastCollatedDropQueue
 import com.willfp.eco.internal.events.EcoEventManager
+import com.willfp.eco.internal.events.EcoPacketTimings
 import com.willfp.eco.internal.extensions.EcoExtensionLoader
 import com.willfp.eco.internal.factory.EcoMetadataValueFactory
 import com.willfp.eco.internal.factory.EcoNamespacedKeyFactory
 import com.willfp.eco.internal.factory.EcoRunnableFactory
 import com.willfp.eco.internal.fast.FastInternalNamespacedKeyFactory
 import com.willfp.eco.internal.fast.InternalNamespacedKeyFactory
+import com.willfp.eco.internal.fast.InterningNamespacedKeyFactory
 import com.willfp.eco.internal.fast.SafeInternalNamespacedKeyFactory
 import com.willfp.eco.internal.gui.MergedStateMenu
 import com.willfp.eco.internal.gui.menu.EcoMenuBuilder
@@ -42,6 +44,7 @@ import com.willfp.eco.internal.logging.NOOPLogger
 import com.willfp.eco.internal.placeholder.PlaceholderParser
 import com.willfp.eco.internal.proxy.EcoProxyFactory
 import com.willfp.eco.internal.scheduling.EcoScheduler
+import com.willfp.eco.internal.scheduling.FoliaScheduler
 import com.willfp.eco.internal.spigot.data.DataYml
 import com.willfp.eco.internal.spigot.data.KeyRegistry
 import com.willfp.eco.internal.spigot.data.ProfileHandler
@@ -92,9 +95,10 @@ class EcoImpl : EcoSpigotPlugin(), Eco {
     }
 
     @Suppress("RedundantNullableReturnType")
-    private val keyFactory: InternalNamespacedKeyFactory? =
+    private val keyFactory: InternalNamespacedKeyFactory? = InterningNamespacedKeyFactory(
         if (this.configYml.getBool("use-safer-namespacedkey-creation"))
             SafeInternalNamespacedKeyFactory() else FastInternalNamespacedKeyFactory()
+    )
 
     private val placeholderParser = PlaceholderParser()
 
@@ -106,7 +110,8 @@ class EcoImpl : EcoSpigotPlugin(), Eco {
     )
 
     override fun createScheduler(plugin: EcoPlugin) =
-        EcoScheduler(plugin)
+        if (Prerequisite.HAS_FOLIA.isMet) FoliaScheduler(plugin)
+        else EcoScheduler(plugin)
 
     override fun createEventManager(plugin: EcoPlugin) =
         EcoEventManager(plugin)
@@ -125,7 +130,7 @@ class EcoImpl : EcoSpigotPlugin(), Eco {
 
     override fun createConfigHandler(plugin: EcoPlugin) =
         if (plugin.props.isUsingReflectiveReload) ReflectiveConfigHandler(plugin)
-        else SimpleConfigHandler()
+        else SimpleConfigHandler(plugin)
 
     override fun createLogger(plugin: EcoPlugin) =
         EcoLogger(plugin)
@@ -297,6 +302,19 @@ class EcoImpl : EcoSpigotPlugin(), Eco {
     override fun createNamespacedKey(namespace: String, key: String) =
         keyFactory?.create(namespace, key) ?: NamespacedKey(namespace, key)
 
+    override fun createNamespacedKeyFromString(string: String): NamespacedKey? {
+        // Null while the plugin is still being constructed.
+        keyFactory?.let { return it.fromString(string) }
+
+        val index = string.indexOf(':')
+
+        if (index < 0) {
+            return null
+        }
+
+        return createNamespacedKey(string.substring(0, index), string.substring(index + 1))
+    }
+
     override fun getProps(existing: PluginProps?, plugin: Class<out EcoPlugin>) =
         existing ?: EcoPropsParser.parseForPlugin(plugin)
 
@@ -345,6 +363,9 @@ class EcoImpl : EcoSpigotPlugin(), Eco {
     override fun sendPacket(player: Player, packet: Packet) =
         this.getProxy(PacketHandlerProxy::class.java).sendPacket(player, packet)
 
+    override fun getPacketTimings() =
+        EcoPacketTimings
+
     override fun translatePlaceholders(text: String, context: PlaceholderContext) =
         placeholderParser.translatePlacholders(text, context)
 
@@ -3,6 +3,7 @@ package com.willfp.eco.internal.spigot
 import com.willfp.eco.core.Eco
 import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.Prerequisite
+import com.willfp.eco.core.command.impl.PluginCommand
 import com.willfp.eco.core.data.ExternalDataStore
 import com.willfp.eco.core.entities.Entities
 import com.willfp.eco.core.integrations.IntegrationLoader
@@ -23,6 +24,7 @@ import com.willfp.eco.core.price.Prices
 import com.willfp.eco.internal.data.MavenVersionToStringAdapter
 import com.willfp.eco.internal.data.VersionToStringAdapter
 import com.willfp.eco.internal.entities.*
+import com.willfp.eco.internal.events.EcoPacketTimings
 import com.willfp.eco.internal.items.*
 import com.willfp.eco.internal.lookup.SegmentParserGroup
 import com.willfp.eco.internal.lookup.SegmentParserUseIfPresent
@@ -31,6 +33,7 @@ import com.willfp.eco.internal.price.PriceFactoryEconomy
 import com.willfp.eco.internal.price.PriceFactoryXP
 import com.willfp.eco.internal.price.PriceFactoryXPLevels
 import com.willfp.eco.internal.spigot.arrows.ArrowDataListener
+import com.willfp.eco.internal.spigot.commands.CommandEco
 import com.willfp.eco.internal.spigot.data.DataListener
 import com.willfp.eco.internal.spigot.data.DataYml
 import com.willfp.eco.internal.spigot.data.PlayerBlockListener
@@ -194,10 +197,15 @@ abstract class EcoSpigotPlugin : EcoPlugin() {
         }
     }
 
+    override fun handleReload() {
+        EcoPacketTimings.setEnabled(this.configYml.getBool("packet-timings"))
+    }
+
     override fun handleDisable() {
         this.logger.info("Saving player data...")
         val start = System.currentTimeMillis()
         profileHandler.save()
+        profileHandler.shutdown()
         this.logger.info("Saved player data! Took ${System.currentTimeMillis() - start}ms")
         Eco.get().adventure?.close()
     }
@@ -360,12 +368,18 @@ abstract class EcoSpigotPlugin : EcoPlugin() {
             listeners.add(NaturalExpGainListenersPaper())
         } else {
             listeners.add(PlayerJumpListenersSpigot())
-            listeners.add(NaturalExpGainListenersSpigot())
+            listeners.add(NaturalExpGainListenersSpigot(this))
         }
 
         return listeners
     }
 
+    override fun loadPluginCommands(): List<PluginCommand> {
+        return listOf(
+            CommandEco(this, profileHandler)
+        )
+    }
+
     override fun loadPacketListeners(): List<PacketListener> {
         return this.getProxy(PacketHandlerProxy::class.java).getPacketListeners(this)
     }
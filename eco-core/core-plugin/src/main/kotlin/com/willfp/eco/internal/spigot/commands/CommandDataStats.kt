@@ -0,0 +1,31 @@
+package com.willfp.eco.internal.spigot.commands
+
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.command.impl.Subcommand
+import com.willfp.eco.internal.spigot.data.ProfileHandler
+import com.willfp.eco.util.NumberUtils
+import org.bukkit.command.CommandSender
+
+class CommandDataStats(
+    plugin: EcoPlugin,
+    private val profileHandler: ProfileHandler
+) : Subcommand(
+    plugin,
+    "datastats",
+    "eco.command.datastats",
+    false
+) {
+    override fun onExecute(sender: CommandSender, args: List<String>) {
+        val stats = profileHandler.persistence.getStats()
+
+        sender.sendMessage(
+            plugin.langYml.getMessage("data-stats")
+                .replace("%queued%", stats.queued.toString())
+                .replace("%completed%", stats.completed.toString())
+                .replace("%coalesced%", stats.coalesced.toString())
+                .replace("%failed%", stats.failed.toString())
+                .replace("%mean%", NumberUtils.format(stats.meanLatencyMillis))
+                .replace("%max%", NumberUtils.format(stats.maxLatencyMillis))
+        )
+    }
+}
@@ -0,0 +1,25 @@
+package com.willfp.eco.internal.spigot.commands
+
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.command.impl.PluginCommand
+import com.willfp.eco.internal.spigot.data.ProfileHandler
+import org.bukkit.command.CommandSender
+
+class CommandEco(
+    plugin: EcoPlugin,
+    profileHandler: ProfileHandler
+) : PluginCommand(
+    plugin,
+    "eco",
+    "eco.command.eco",
+    false
+) {
+    init {
+        this.addSubcommand(CommandPacketTimings(plugin))
+        this.addSubcommand(CommandDataStats(plugin, profileHandler))
+    }
+
+    override fun onExecute(sender: CommandSender, args: List<String>) {
+        sender.sendMessage(plugin.langYml.getMessage("invalid-command"))
+    }
+}
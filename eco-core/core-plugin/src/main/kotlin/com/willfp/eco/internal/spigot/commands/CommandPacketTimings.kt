@@ -0,0 +1,79 @@
+package com.willfp.eco.internal.spigot.commands
+
+import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.command.impl.Subcommand
+import com.willfp.eco.core.packet.PacketTimings
+import com.willfp.eco.util.NumberUtils
+import org.bukkit.command.CommandSender
+import org.bukkit.util.StringUtil
+
+private const val REPORT_SIZE = 10
+
+class CommandPacketTimings(plugin: EcoPlugin) : Subcommand(
+    plugin,
+    "packettimings",
+    "eco.command.packettimings",
+    false
+) {
+    override fun onExecute(sender: CommandSender, args: List<String>) {
+        val timings = PacketTimings.get()
+
+        when (args.firstOrNull()?.lowercase()) {
+            "on" -> {
+                timings.isEnabled = true
+                sender.sendMessage(plugin.langYml.getMessage("packet-timings-enabled"))
+            }
+
+            "off" -> {
+                timings.isEnabled = false
+                sender.sendMessage(plugin.langYml.getMessage("packet-timings-disabled"))
+            }
+
+            "reset" -> {
+                timings.reset()
+                sender.sendMessage(plugin.langYml.getMessage("packet-timings-reset"))
+            }
+
+            "report", null -> report(sender, timings)
+
+            else -> sender.sendMessage(plugin.langYml.getMessage("invalid-command"))
+        }
+    }
+
+    private fun report(sender: CommandSender, timings: PacketTimings) {
+        val slowest = timings.timings
+            .filter { it.invocations > 0 }
+            .sortedByDescending { it.totalNanos }
+            .take(REPORT_SIZE)
+
+        if (slowest.isEmpty()) {
+            sender.sendMessage(plugin.langYml.getMessage("packet-timings-empty"))
+            return
+        }
+
+        sender.sendMessage(plugin.langYml.getMessage("packet-timings-header"))
+
+        for (timing in slowest) {
+            sender.sendMessage(
+                plugin.langYml.getFormattedString("messages.packet-timings-line")
+                    .replace("%plugin%", timing.plugin)
+                    .replace("%listener%", timing.listener.substringAfterLast('.'))
+                    .replace("%packet%", timing.packetType.substringAfterLast('.'))
+                    .replace("%direction%", if (timing.send) "send" else "receive")
+                    .replace("%calls%", timing.invocations.toString())
+                    .replace("%total%", NumberUtils.format(timing.totalNanos / 1_000_000.0))
+                    .replace("%mean%", NumberUtils.format(timing.meanNanos() / 1000))
+                    .replace("%p99%", timing.percentileMicros(0.99).toString())
+                    .replace("%max%", NumberUtils.format(timing.maxNanos / 1000.0))
+            )
+        }
+    }
+
+    override fun tabComplete(sender: CommandSender, args: List<String>): List<String> {
+        if (args.size != 1) {
+            return emptyList()
+        }
+
+        return StringUtil.copyPartialMatches(args[0], listOf("on", "off", "reset", "report"), mutableListOf())
+    }
+}
@@ -16,13 +16,13 @@ class DataListener(
     @EventHandler(priority = EventPriority.HIGHEST)
     fun onLeave(event: PlayerQuitEvent) {
         val profile = handler.accessLoadedProfile(event.player.uniqueId) ?: return
-        handler.saveKeysFor(event.player.uniqueId, profile.data.keys)
+        handler.saveKeysFor(event.player.uniqueId, profile.takeChangedKeys())
         handler.unloadPlayer(event.player.uniqueId)
     }
 
     @EventHandler
     fun onJoin(event: PlayerJoinEvent) {
-        plugin.scheduler.runLater(5) {
+        plugin.scheduler.runOnEntityLater(event.player, 5) {
             PlayerUtils.updateSavedDisplayName(event.player)
         }
     }
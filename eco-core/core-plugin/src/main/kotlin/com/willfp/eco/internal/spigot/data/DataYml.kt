@@ -2,6 +2,7 @@ package com.willfp.eco.internal.spigot.data
 
 import com.willfp.eco.core.config.BaseConfig
 import com.willfp.eco.core.config.ConfigType
+import com.willfp.eco.internal.config.EcoLoadableConfig
 import com.willfp.eco.internal.spigot.EcoSpigotPlugin
 
 class DataYml(
@@ -12,4 +13,9 @@ class DataYml(
     false,
     ConfigType.YAML,
     false
-)
+) {
+    init {
+        // Player data is only ever written by eco, reloading it would lose unsaved changes.
+        (this.handle as? EcoLoadableConfig)?.isWatched = false
+    }
+}
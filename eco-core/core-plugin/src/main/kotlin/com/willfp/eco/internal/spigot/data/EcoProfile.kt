@@ -17,12 +17,42 @@ abstract class EcoProfile(
     private val handler: DataHandler,
     private val localHandler: DataHandler
 ) : Profile {
+    // Only keys written on this server are saved, so that keys changed by other servers aren't overwritten.
+    private val changedKeys: MutableSet<PersistentDataKey<*>> = ConcurrentHashMap.newKeySet()
+
     override fun <T : Any> write(key: PersistentDataKey<T>, value: T) {
         this.data[key] = value
+        changedKeys.add(key)
+
+        CHANGE_MAP.add(uuid)
+    }
 
+    /**
+     * Get the keys written since this was last called.
+     */
+    fun takeChangedKeys(): Set<PersistentDataKey<*>> {
+        val keys = changedKeys.toSet()
+        changedKeys.removeAll(keys)
+        return keys
+    }
+
+    /**
+     * Mark keys as changed again after saving them failed, so that they're
+     * saved the next time the profile is.
+     */
+    fun restoreChangedKeys(keys: Collection<PersistentDataKey<*>>) {
+        changedKeys.addAll(keys)
         CHANGE_MAP.add(uuid)
     }
 
+    /**
+     * Forget values that may have been changed by another server, so that
+     * they're read again.
+     */
+    fun invalidate() {
+        this.data.keys.removeIf { !it.isSavedLocally && it !in changedKeys }
+    }
+
     override fun <T : Any> read(key: PersistentDataKey<T>): T {
         @Suppress("UNCHECKED_CAST")
         if (this.data.containsKey(key)) {
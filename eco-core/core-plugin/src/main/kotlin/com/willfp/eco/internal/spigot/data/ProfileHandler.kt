@@ -7,13 +7,17 @@ import com.willfp.eco.core.data.keys.PersistentDataKey
 import com.willfp.eco.core.data.profile
 import com.willfp.eco.internal.spigot.EcoSpigotPlugin
 import com.willfp.eco.internal.spigot.ServerLocking
+import com.willfp.eco.internal.spigot.data.storage.BinaryDataHandler
 import com.willfp.eco.internal.spigot.data.storage.DataHandler
 import com.willfp.eco.internal.spigot.data.storage.HandlerType
+import com.willfp.eco.internal.spigot.data.storage.InvalidationBus
 import com.willfp.eco.internal.spigot.data.storage.MongoDataHandler
 import com.willfp.eco.internal.spigot.data.storage.MySQLDataHandler
+import com.willfp.eco.internal.spigot.data.storage.PersistenceExecutor
 import com.willfp.eco.internal.spigot.data.storage.YamlDataHandler
 import org.bukkit.Bukkit
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 
 val serverProfileUUID = UUID(0, 0)
 
@@ -21,12 +25,26 @@ class ProfileHandler(
     private val type: HandlerType,
     private val plugin: EcoSpigotPlugin
 ) {
-    private val loaded = mutableMapOf<UUID, EcoProfile>()
+    // Read by the invalidation bus.
+    private val loaded = ConcurrentHashMap<UUID, EcoProfile>()
 
-    private val localHandler = YamlDataHandler(plugin, this)
+    // Declared before the handlers, as they queue their writes on it.
+    val persistence = PersistenceExecutor(
+        plugin.logger,
+        plugin.configYml.getInt("persistence.threads"),
+        plugin.configYml.getInt("persistence.queue-size"),
+        onWritten = { uuid -> invalidationBus?.publish(uuid) },
+        onFailed = { uuid, keys -> retrySave(uuid, keys) }
+    )
+
+    private var invalidationBus: InvalidationBus? = null
+
+    // Binary files are already local, so data.yml isn't needed at all.
+    private val localHandler: DataHandler = if (type == HandlerType.BINARY)
+        BinaryDataHandler(plugin, this) else YamlDataHandler(plugin, this)
 
     val handler: DataHandler = when (type) {
-        HandlerType.YAML -> localHandler
+        HandlerType.YAML, HandlerType.BINARY -> localHandler
         HandlerType.MYSQL -> MySQLDataHandler(plugin, this)
         HandlerType.MONGO -> MongoDataHandler(plugin, this)
     }
@@ -73,11 +91,39 @@ class ProfileHandler(
         }
     }
 
+    // Keys are taken from the profile when the save is queued, so they have to be put back if it fails.
+    private fun retrySave(uuid: UUID, keys: Set<PersistentDataKey<*>>) {
+        val profile = loaded[uuid]
+
+        if (profile == null) {
+            plugin.logger.warning("Could not save ${keys.size} keys for $uuid, who is no longer loaded!")
+            return
+        }
+
+        profile.restoreChangedKeys(keys)
+    }
+
     fun unloadPlayer(uuid: UUID) {
         loaded.remove(uuid)
+        handler.invalidate(uuid)
+    }
+
+    private fun invalidate(uuid: UUID) {
+        val profile = loaded[uuid] ?: return
+
+        // Reading before this server's own writes have finished would bring back old values.
+        if (persistence.isQueued(handler, uuid)) {
+            plugin.scheduler.runLater(20) { invalidate(uuid) }
+            return
+        }
+
+        handler.invalidate(uuid)
+        profile.invalidate()
     }
 
     fun save() {
+        persistence.drain(plugin.configYml.getInt("persistence.shutdown-timeout") * 1000L)
+
         handler.save()
 
         if (localHandler != handler) {
@@ -106,6 +152,7 @@ class ProfileHandler(
             HandlerType.YAML -> YamlDataHandler(plugin, this)
             HandlerType.MYSQL -> MySQLDataHandler(plugin, this)
             HandlerType.MONGO -> MongoDataHandler(plugin, this)
+            HandlerType.BINARY -> BinaryDataHandler(plugin, this)
         }
 
         ServerLocking.lock("Migrating player data! Check console for more information.")
@@ -152,7 +199,7 @@ class ProfileHandler(
         }
 
         plugin.logger.info("Saving new data...")
-        handler.save()
+        save()
         plugin.logger.info("Updating previous handler...")
         plugin.dataYml.set("previous-handler", type.name)
         plugin.dataYml.save()
@@ -163,11 +210,21 @@ class ProfileHandler(
         Bukkit.getServer().shutdown()
     }
 
+    fun shutdown() {
+        invalidationBus?.stop()
+        persistence.shutdown(plugin.configYml.getInt("persistence.shutdown-timeout") * 1000L)
+    }
+
     fun initialize() {
         handler.initialize()
         if (localHandler != handler) {
             localHandler.initialize()
         }
+
+        if (plugin.configYml.getBool("data-sync.enabled")) {
+            invalidationBus = handler.createInvalidationBus(plugin) { loaded.keys.toList() }
+            invalidationBus?.start { uuid -> plugin.scheduler.run { invalidate(uuid) } }
+        }
     }
 
     fun startAutosaving() {
@@ -179,7 +236,10 @@ class ProfileHandler(
 
         plugin.scheduler.runTimer(20, interval) {
             handler.saveAsync()
-            localHandler.saveAsync()
+
+            if (localHandler != handler) {
+                localHandler.saveAsync()
+            }
         }
     }
 }
@@ -0,0 +1,293 @@
+package com.willfp.eco.internal.spigot.data.storage
+
+import com.willfp.eco.core.config.ConfigType
+import com.willfp.eco.core.config.interfaces.Config
+import com.willfp.eco.core.config.readConfig
+import com.willfp.eco.core.data.keys.PersistentDataKey
+import com.willfp.eco.core.data.keys.PersistentDataKeyType
+import com.willfp.eco.internal.spigot.EcoSpigotPlugin
+import com.willfp.eco.internal.spigot.data.ProfileHandler
+import com.willfp.eco.internal.spigot.data.serverProfileUUID
+import org.bukkit.Bukkit
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.math.BigDecimal
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+private const val MAGIC = 0x45434F44 // ECOD
+private const val VERSION = 1
+
+/*
+Stores each player in their own small binary file, so saving only ever writes
+the players that changed, and only players that are online are kept in memory.
+ */
+
+@Suppress("UNCHECKED_CAST")
+class BinaryDataHandler(
+    plugin: EcoSpigotPlugin,
+    private val handler: ProfileHandler
+) : DataHandler(HandlerType.BINARY) {
+    private val directory = File(plugin.dataFolder, "data")
+
+    private val loaded = ConcurrentHashMap<UUID, BinaryProfileData>()
+
+    override fun initialize() {
+        directory.mkdirs()
+    }
+
+    override fun <T : Any> read(uuid: UUID, key: PersistentDataKey<T>): T? {
+        val entry = getData(uuid).values[key.key.toString()] ?: return null
+
+        if (entry.type != key.type) {
+            return null
+        }
+
+        return entry.value as T
+    }
+
+    override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
+        saveKeysFor(uuid, mapOf(key to value))
+    }
+
+    override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        val data = getData(uuid)
+
+        synchronized(data) {
+            for ((key, value) in keys) {
+                data.values[key.key.toString()] = BinaryEntry(key.type, value)
+            }
+
+            data.dirty = true
+        }
+
+        handler.persistence.submit(this, uuid, keys)
+    }
+
+    override fun writeKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        // The keys have already been set, this only needs to write the file.
+        flush(uuid)
+
+        val data = loaded[uuid] ?: return
+        if (data.evictAfterWrite) {
+            evict(uuid, data)
+        }
+    }
+
+    override fun invalidate(uuid: UUID) {
+        // Called when a player leaves; their quit save may still be queued, so evict once it's written.
+        val data = loaded[uuid] ?: return
+        data.evictAfterWrite = true
+
+        if (!handler.persistence.isQueued(this, uuid)) {
+            evict(uuid, data)
+        }
+    }
+
+    override fun save() {
+        for (uuid in loaded.keys) {
+            runCatching { flush(uuid) }.onFailure { it.printStackTrace() }
+        }
+
+        evictOffline()
+    }
+
+    override fun saveAsync() {
+        evictOffline()
+    }
+
+    private fun getData(uuid: UUID): BinaryProfileData {
+        return loaded.computeIfAbsent(uuid) { readFile(it) }
+    }
+
+    private fun flush(uuid: UUID) {
+        val data = loaded[uuid] ?: return
+
+        // Saves on disable can overlap with queued ones, so only one may write the file at a time.
+        synchronized(data.fileLock) {
+            // Only hold the data lock while copying, writes can carry on while saving.
+            val snapshot = synchronized(data) {
+                if (!data.dirty) {
+                    return
+                }
+
+                data.dirty = false
+                data.writing = true
+                data.values.toMap()
+            }
+
+            try {
+                writeFile(uuid, snapshot)
+            } catch (e: Exception) {
+                synchronized(data) { data.dirty = true }
+                throw e
+            } finally {
+                synchronized(data) { data.writing = false }
+            }
+        }
+    }
+
+    private fun evictOffline() {
+        for ((uuid, data) in loaded) {
+            if (uuid == serverProfileUUID || Bukkit.getPlayer(uuid) != null) {
+                continue
+            }
+
+            if (!handler.persistence.isQueued(this, uuid)) {
+                evict(uuid, data)
+            }
+        }
+    }
+
+    private fun evict(uuid: UUID, data: BinaryProfileData) {
+        if (uuid == serverProfileUUID) {
+            return
+        }
+
+        // Not dirty doesn't mean saved, the snapshot could still be being written.
+        synchronized(data) {
+            if (!data.dirty && !data.writing) {
+                loaded.remove(uuid, data)
+            }
+        }
+    }
+
+    private fun fileFor(uuid: UUID) = File(directory, "$uuid.dat")
+
+    private fun readFile(uuid: UUID): BinaryProfileData {
+        val data = BinaryProfileData()
+        val file = fileFor(uuid)
+
+        if (!file.exists()) {
+            return data
+        }
+
+        DataInputStream(file.inputStream().buffered()).use { input ->
+            if (input.readInt() != MAGIC) {
+                throw IOException("$file is not an eco data file")
+            }
+
+            val version = input.readInt()
+            if (version > VERSION) {
+                throw IOException("$file was saved by a newer version of eco")
+            }
+
+            repeat(input.readInt()) {
+                val key = input.readUTF()
+                val type = PersistentDataKeyType.valueOf(input.readUTF())
+                    ?: throw IOException("$file contains an unknown data key type")
+
+                data.values[key] = BinaryEntry(type, input.readValue(type))
+            }
+        }
+
+        return data
+    }
+
+    private fun writeFile(uuid: UUID, values: Map<String, BinaryEntry>) {
+        val path = fileFor(uuid).toPath()
+        val temp = path.resolveSibling("$uuid.dat.tmp")
+
+        DataOutputStream(Files.newOutputStream(temp).buffered()).use { out ->
+            out.writeInt(MAGIC)
+            out.writeInt(VERSION)
+            out.writeInt(values.size)
+
+            for ((key, entry) in values) {
+                out.writeUTF(key)
+                out.writeUTF(entry.type.name())
+                out.writeValue(entry.type, entry.value)
+            }
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+        } catch (e: AtomicMoveNotSupportedException) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING)
+        }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) {
+            return true
+        }
+
+        return other is BinaryDataHandler
+    }
+
+    override fun hashCode(): Int {
+        return type.hashCode()
+    }
+}
+
+private class BinaryProfileData {
+    val values = ConcurrentHashMap<String, BinaryEntry>()
+    val fileLock = Any()
+
+    @Volatile
+    var dirty = false
+
+    @Volatile
+    var writing = false
+
+    @Volatile
+    var evictAfterWrite = false
+}
+
+private class BinaryEntry(
+    val type: PersistentDataKeyType<*>,
+    val value: Any
+)
+
+private fun DataOutputStream.writeLongString(string: String) {
+    val bytes = string.toByteArray(Charsets.UTF_8)
+    this.writeInt(bytes.size)
+    this.write(bytes)
+}
+
+private fun DataInputStream.readLongString(): String {
+    val bytes = ByteArray(this.readInt())
+    this.readFully(bytes)
+    return String(bytes, Charsets.UTF_8)
+}
+
+private fun DataOutputStream.writeValue(type: PersistentDataKeyType<*>, value: Any) {
+    when (type) {
+        PersistentDataKeyType.STRING -> writeLongString(value as String)
+        PersistentDataKeyType.BOOLEAN -> writeBoolean(value as Boolean)
+        PersistentDataKeyType.INT -> writeInt(value as Int)
+        PersistentDataKeyType.DOUBLE -> writeDouble(value as Double)
+        PersistentDataKeyType.STRING_LIST -> {
+            value as List<String>
+            writeInt(value.size)
+            value.forEach { writeLongString(it) }
+        }
+        PersistentDataKeyType.CONFIG -> {
+            value as Config
+            writeUTF(value.type.name)
+            writeLongString(value.toPlaintext())
+        }
+        PersistentDataKeyType.BIG_DECIMAL -> writeUTF((value as BigDecimal).toString())
+    }
+}
+
+private fun DataInputStream.readValue(type: PersistentDataKeyType<*>): Any {
+    return when (type) {
+        PersistentDataKeyType.STRING -> readLongString()
+        PersistentDataKeyType.BOOLEAN -> readBoolean()
+        PersistentDataKeyType.INT -> readInt()
+        PersistentDataKeyType.DOUBLE -> readDouble()
+        PersistentDataKeyType.STRING_LIST -> List(readInt()) { readLongString() }
+        PersistentDataKeyType.CONFIG -> {
+            val configType = ConfigType.valueOf(readUTF())
+            readConfig(readLongString(), configType)
+        }
+        PersistentDataKeyType.BIG_DECIMAL -> BigDecimal(readUTF())
+        else -> throw IOException("Unknown data key type ${type.name()}")
+    }
+}
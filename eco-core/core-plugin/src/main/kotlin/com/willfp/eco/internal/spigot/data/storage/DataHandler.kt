@@ -1,5 +1,6 @@
 package com.willfp.eco.internal.spigot.data.storage
 
+import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.data.keys.PersistentDataKey
 import java.util.UUID
 
@@ -21,6 +22,15 @@ abstract class DataHandler(
      */
     abstract fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>)
 
+    /**
+     * Write a set of keys for a given UUID, blocking until they are written.
+     *
+     * Called by the [PersistenceExecutor] for handlers that queue their saves on it.
+     */
+    open fun writeKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        saveKeysFor(uuid, keys)
+    }
+
     // Everything below this are methods that are only needed for certain implementations.
 
     open fun save() {
@@ -34,4 +44,19 @@ abstract class DataHandler(
     open fun initialize() {
 
     }
+
+    /**
+     * Forget anything cached for a UUID, so that it is read again.
+     */
+    open fun invalidate(uuid: UUID) {
+
+    }
+
+    /**
+     * Create a bus to find out about other servers changing data, or null
+     * if this handler is only used by one server.
+     */
+    open fun createInvalidationBus(plugin: EcoPlugin, loaded: () -> Collection<UUID>): InvalidationBus? {
+        return null
+    }
 }
@@ -3,5 +3,6 @@ package com.willfp.eco.internal.spigot.data.storage
 enum class HandlerType {
     YAML,
     MYSQL,
-    MONGO
+    MONGO,
+    BINARY
 }
@@ -0,0 +1,104 @@
+package com.willfp.eco.internal.spigot.data.storage
+
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
+
+/**
+ * Tells this server when another server has changed a profile, so that the
+ * cached values can be read again.
+ */
+interface InvalidationBus {
+    /**
+     * Start listening for changes, [onChange] may be called from any thread.
+     */
+    fun start(onChange: (UUID) -> Unit)
+
+    /**
+     * Called after this server has written a profile.
+     */
+    fun publish(uuid: UUID) {
+        // Most buses find out about writes from the database itself.
+    }
+
+    fun stop()
+}
+
+/**
+ * The last version of each profile seen by this server, to tell changes made
+ * by other servers apart from those made by this one.
+ *
+ * Every version read from the database goes through [update], whether it was
+ * read by the invalidation bus or by a normal read or write, so that a change
+ * is reported by whichever sees it first.
+ */
+class ProfileVersions {
+    private val versions = ConcurrentHashMap<UUID, Long>()
+
+    /**
+     * Called when a newer version is seen, may be called from any thread.
+     */
+    @Volatile
+    var onChange: ((UUID) -> Unit)? = null
+
+    /**
+     * Record a version of a profile read from the database, returning if it is
+     * newer than the last one seen; which means another server has written it since.
+     */
+    fun update(uuid: UUID, version: Long): Boolean {
+        var newer = false
+
+        versions.compute(uuid) { _, known ->
+            newer = known != null && version > known
+            maxOf(version, known ?: version)
+        }
+
+        if (newer) {
+            onChange?.invoke(uuid)
+        }
+
+        return newer
+    }
+
+    /**
+     * Record a version of a profile written by this server.
+     */
+    fun recordWrite(uuid: UUID, version: Long) {
+        versions.merge(uuid, version, ::maxOf)
+    }
+
+    fun forget(uuid: UUID) {
+        versions.remove(uuid)
+    }
+}
+
+/**
+ * Passes changes between profile handlers in the same process, in place of a
+ * database, for testing several handlers together.
+ */
+class LocalInvalidationBus : InvalidationBus {
+    @Volatile
+    private var onChange: ((UUID) -> Unit)? = null
+
+    override fun start(onChange: (UUID) -> Unit) {
+        this.onChange = onChange
+        buses += this
+    }
+
+    override fun publish(uuid: UUID) {
+        for (bus in buses) {
+            if (bus !== this) {
+                bus.onChange?.invoke(uuid)
+            }
+        }
+    }
+
+    override fun stop() {
+        buses -= this
+        onChange = null
+    }
+
+    companion object {
+        private val buses = CopyOnWriteArraySet<LocalInvalidationBus>()
+    }
+}
@@ -1,21 +1,33 @@
 package com.willfp.eco.internal.spigot.data.storage
 
+import com.mongodb.client.model.changestream.FullDocument
+import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.data.keys.PersistentDataKey
 import com.willfp.eco.internal.spigot.EcoSpigotPlugin
 import com.willfp.eco.internal.spigot.data.ProfileHandler
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancel
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.reactive.asFlow
 import kotlinx.coroutines.runBlocking
 import org.bson.codecs.pojo.annotations.BsonId
+import org.litote.kmongo.and
+import org.litote.kmongo.combine
 import org.litote.kmongo.coroutine.CoroutineClient
 import org.litote.kmongo.coroutine.CoroutineCollection
 import org.litote.kmongo.coroutine.coroutine
 import org.litote.kmongo.eq
+import org.litote.kmongo.exists
+import org.litote.kmongo.or
 import org.litote.kmongo.reactivestreams.KMongo
 import org.litote.kmongo.setValue
 import java.util.UUID
 
+// Another server may write the same player at the same time, so retry a few times.
+private const val MAX_WRITE_ATTEMPTS = 5
+
 @Suppress("UNCHECKED_CAST")
 class MongoDataHandler(
     plugin: EcoSpigotPlugin,
@@ -24,7 +36,7 @@ class MongoDataHandler(
     private val client: CoroutineClient
     private val collection: CoroutineCollection<UUIDProfile>
 
-    private val scope = CoroutineScope(Dispatchers.IO)
+    private val versions = ProfileVersions()
 
     init {
         System.setProperty(
@@ -45,40 +57,62 @@ class MongoDataHandler(
     }
 
     override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
-        scope.launch {
-            doWrite(uuid, key, value)
-        }
+        handler.persistence.submit(this, uuid, mapOf(key to value))
     }
 
     override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
-        scope.launch {
-            for ((key, value) in keys) {
-                saveKey(uuid, key, value)
-            }
-        }
+        handler.persistence.submit(this, uuid, keys)
     }
 
-    private suspend fun <T : Any> saveKey(uuid: UUID, key: PersistentDataKey<T>, value: Any) {
-        val data = value as T
-        doWrite(uuid, key, data)
+    override fun writeKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        runBlocking {
+            // Only write if nobody else has since the document was read, so their keys aren't overwritten.
+            repeat(MAX_WRITE_ATTEMPTS) {
+                if (doWrite(uuid, keys)) {
+                    return@runBlocking
+                }
+            }
+
+            throw IllegalStateException("Data for $uuid kept being changed by another server")
+        }
     }
 
-    private suspend fun <T> doWrite(uuid: UUID, key: PersistentDataKey<T>, value: T) {
+    private suspend fun doWrite(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>): Boolean {
         val profile = getOrCreateDocument(uuid)
+        versions.update(uuid, profile.version)
 
         val newData = profile.data.apply {
-            if (value == null) {
-                this.remove(key.key.toString())
-            } else {
+            for ((key, value) in keys) {
                 this[key.key.toString()] = value
             }
         }
 
-        collection.updateOne(UUIDProfile::uuid eq uuid.toString(), setValue(UUIDProfile::data, newData))
+        // Documents from before versioning don't have a version yet.
+        val sameVersion = if (profile.version == 0L) {
+            or(UUIDProfile::version eq 0L, UUIDProfile::version exists false)
+        } else {
+            UUIDProfile::version eq profile.version
+        }
+
+        val result = collection.updateOne(
+            and(UUIDProfile::uuid eq uuid.toString(), sameVersion),
+            combine(
+                setValue(UUIDProfile::data, newData),
+                setValue(UUIDProfile::version, profile.version + 1)
+            )
+        )
+
+        if (result.matchedCount == 0L) {
+            return false
+        }
+
+        versions.recordWrite(uuid, profile.version + 1)
+        return true
     }
 
     private suspend fun <T> doRead(uuid: UUID, key: PersistentDataKey<T>): T? {
         val profile = collection.findOne(UUIDProfile::uuid eq uuid.toString()) ?: return key.defaultValue
+        versions.update(uuid, profile.version)
         return profile.data[key.key.toString()] as? T?
     }
 
@@ -88,7 +122,8 @@ class MongoDataHandler(
             collection.insertOne(
                 UUIDProfile(
                     uuid.toString(),
-                    mutableMapOf()
+                    mutableMapOf(),
+                    0L
                 )
             )
 
@@ -98,6 +133,52 @@ class MongoDataHandler(
         }
     }
 
+    override fun invalidate(uuid: UUID) {
+        versions.forget(uuid)
+    }
+
+    override fun createInvalidationBus(plugin: EcoPlugin, loaded: () -> Collection<UUID>): InvalidationBus {
+        return ChangeStreamInvalidationBus(plugin)
+    }
+
+    /**
+     * Listens to a change stream on the collection, which needs a replica set.
+     */
+    private inner class ChangeStreamInvalidationBus(
+        private val plugin: EcoPlugin
+    ) : InvalidationBus {
+        private val scope = CoroutineScope(Dispatchers.IO)
+
+        override fun start(onChange: (UUID) -> Unit) {
+            versions.onChange = onChange
+
+            scope.launch {
+                runCatching {
+                    collection.collection.watch()
+                        .fullDocument(FullDocument.UPDATE_LOOKUP)
+                        .asFlow()
+                        .collect { event ->
+                            val profile = event.fullDocument ?: return@collect
+                            val uuid = UUID.fromString(profile.uuid)
+
+                            versions.update(uuid, profile.version)
+                        }
+                }.onFailure {
+                    if (it is CancellationException) {
+                        return@launch
+                    }
+
+                    plugin.logger.warning("Could not watch MongoDB for changes from other servers: ${it.message}")
+                }
+            }
+        }
+
+        override fun stop() {
+            scope.cancel()
+            versions.onChange = null
+        }
+    }
+
     override fun equals(other: Any?): Boolean {
         if (this === other) {
             return true
@@ -116,5 +197,7 @@ private data class UUIDProfile(
     @BsonId
     val uuid: String,
     // Storing NamespacedKeys as strings for serialization
-    val data: MutableMap<String, Any>
+    val data: MutableMap<String, Any>,
+    // Incremented on every write, to detect writes from other servers
+    val version: Long = 0
 )
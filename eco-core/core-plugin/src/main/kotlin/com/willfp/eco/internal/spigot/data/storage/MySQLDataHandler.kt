@@ -1,7 +1,7 @@
 package com.willfp.eco.internal.spigot.data.storage
 
 import com.github.benmanes.caffeine.cache.Caffeine
-import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.config.ConfigType
 import com.willfp.eco.core.config.interfaces.Config
 import com.willfp.eco.core.config.readConfig
@@ -11,20 +11,26 @@ import com.willfp.eco.internal.spigot.EcoSpigotPlugin
 import com.willfp.eco.internal.spigot.data.ProfileHandler
 import com.zaxxer.hikari.HikariConfig
 import com.zaxxer.hikari.HikariDataSource
+import org.bukkit.scheduler.BukkitTask
+import org.jetbrains.exposed.dao.id.EntityID
 import org.jetbrains.exposed.dao.id.UUIDTable
 import org.jetbrains.exposed.sql.Column
 import org.jetbrains.exposed.sql.Database
+import org.jetbrains.exposed.sql.LongColumnType
 import org.jetbrains.exposed.sql.ResultRow
 import org.jetbrains.exposed.sql.SchemaUtils
 import org.jetbrains.exposed.sql.TextColumnType
+import org.jetbrains.exposed.sql.and
 import org.jetbrains.exposed.sql.insert
 import org.jetbrains.exposed.sql.select
 import org.jetbrains.exposed.sql.transactions.transaction
 import org.jetbrains.exposed.sql.update
 import java.util.UUID
-import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 
+// Another server may write the same player at the same time, so retry a few times.
+private const val MAX_WRITE_ATTEMPTS = 5
+
 /*
 Better than old MySQL data handler, but that's only because it's literally just dumping all the
 data into a single text column, containing the contents of the players profile as a Config.
@@ -44,12 +50,14 @@ class MySQLDataHandler(
         .expireAfterWrite(3, TimeUnit.SECONDS)
         .build<UUID, ResultRow>()
 
-    private val threadFactory = ThreadFactoryBuilder().setNameFormat("eco-mysql-thread-%d").build()
-    private val executor = Executors.newFixedThreadPool(plugin.configYml.getInt("mysql.threads"), threadFactory)
+    private val versions = ProfileVersions()
 
     private val dataColumn: Column<String>
         get() = table.columns.first { it.name == "json_data" } as Column<String>
 
+    private val versionColumn: Column<Long>
+        get() = table.columns.first { it.name == "version" } as Column<Long>
+
     init {
         val config = HikariConfig()
         config.driverClassName = "com.mysql.cj.jdbc.Driver"
@@ -68,6 +76,7 @@ class MySQLDataHandler(
 
             table.apply {
                 registerColumn<String>("json_data", TextColumnType())
+                registerColumn<Long>("version", LongColumnType()).default(0L)
             }
 
             SchemaUtils.createMissingTablesAndColumns(table, withLogs = false)
@@ -93,26 +102,37 @@ class MySQLDataHandler(
     }
 
     override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
-        val data = getData(uuid)
-        data.set(key.key.toString(), value)
-
-        setData(uuid, data)
+        handler.persistence.submit(this, uuid, mapOf(key to value))
     }
 
     override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
-        executor.submit {
-            val data = getData(uuid)
+        handler.persistence.submit(this, uuid, keys)
+    }
+
+    override fun writeKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        // Only write if nobody else has since the row was read, so their keys aren't overwritten.
+        repeat(MAX_WRITE_ATTEMPTS) {
+            rows.invalidate(uuid)
+            val (data, version) = getVersionedData(uuid)
 
             for ((key, value) in keys) {
                 data.set(key.key.toString(), value)
             }
 
-            doSetData(uuid, data)
+            if (doSetData(uuid, data, version)) {
+                return
+            }
         }
+
+        throw IllegalStateException("Data for $uuid kept being changed by another server")
     }
 
     private fun getData(uuid: UUID): Config {
-        val plaintext = transaction(database) {
+        return getVersionedData(uuid).first
+    }
+
+    private fun getVersionedData(uuid: UUID): Pair<Config, Long> {
+        val (plaintext, version) = transaction(database) {
             val row = rows.get(uuid) {
                 val row = table.select { table.id eq uuid }.limit(1).singleOrNull()
 
@@ -129,24 +149,76 @@ class MySQLDataHandler(
                 }
             }
 
-            row.getOrNull(dataColumn) ?: "{}"
+            Pair(row.getOrNull(dataColumn) ?: "{}", row.getOrNull(versionColumn) ?: 0L)
         }
 
-        return readConfig(plaintext, ConfigType.JSON)
+        versions.update(uuid, version)
+
+        return Pair(readConfig(plaintext, ConfigType.JSON), version)
     }
 
-    private fun setData(uuid: UUID, config: Config) {
-        executor.submit {
-            doSetData(uuid, config)
+    private fun doSetData(uuid: UUID, config: Config, version: Long): Boolean {
+        val updated = transaction(database) {
+            table.update({ (table.id eq uuid) and (versionColumn eq version) }) {
+                it[dataColumn] = config.toPlaintext()
+                it[versionColumn] = version + 1
+            }
+        }
+
+        if (updated == 0) {
+            return false
         }
+
+        versions.recordWrite(uuid, version + 1)
+        return true
     }
 
-    private fun doSetData(uuid: UUID, config: Config) {
-        transaction(database) {
-            table.update({ table.id eq uuid }) {
-                it[dataColumn] = config.toPlaintext()
+    override fun invalidate(uuid: UUID) {
+        rows.invalidate(uuid)
+        versions.forget(uuid)
+    }
+
+    override fun createInvalidationBus(plugin: EcoPlugin, loaded: () -> Collection<UUID>): InvalidationBus {
+        return PollingInvalidationBus(plugin, loaded)
+    }
+
+    /**
+     * MySQL can't push changes, so the versions of loaded profiles are checked regularly.
+     */
+    private inner class PollingInvalidationBus(
+        private val plugin: EcoPlugin,
+        private val loaded: () -> Collection<UUID>
+    ) : InvalidationBus {
+        private var task: BukkitTask? = null
+
+        override fun start(onChange: (UUID) -> Unit) {
+            versions.onChange = onChange
+
+            val interval = plugin.configYml.getInt("data-sync.poll-interval").toLong()
+
+            task = plugin.scheduler.runAsyncTimer(interval, interval) {
+                val uuids = loaded().map { EntityID(it, table) }
+
+                if (uuids.isEmpty()) {
+                    return@runAsyncTimer
+                }
+
+                val changed = transaction(database) {
+                    table.slice(table.id, versionColumn)
+                        .select { table.id inList uuids }
+                        .map { it[table.id].value to it[versionColumn] }
+                }
+
+                for ((uuid, version) in changed) {
+                    versions.update(uuid, version)
+                }
             }
         }
+
+        override fun stop() {
+            task?.cancel()
+            versions.onChange = null
+        }
     }
 
     override fun initialize() {
@@ -0,0 +1,263 @@
+package com.willfp.eco.internal.spigot.data.storage
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.willfp.eco.core.data.keys.PersistentDataKey
+import java.util.UUID
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.logging.Logger
+
+/*
+Shared between data handlers so that slow databases can't queue up writes forever.
+
+Writes for the same handler and UUID are merged while they wait, and only one runs
+at a time, so they can't be applied out of order. Once the queue is full, writes are
+left pending (still merging new keys) and dispatched again by the next submit or
+drain, so a slow database never blocks the thread saving the data. Once the
+executor has been shut down, writes are run on the calling thread instead, so that
+saves made while the server stops aren't dropped.
+
+A write that fails is handed to onFailed with the keys it was writing, so that they
+can be saved again later rather than being lost.
+ */
+
+class PersistenceExecutor(
+    private val logger: Logger,
+    threads: Int,
+    queueSize: Int,
+    private val onWritten: (UUID) -> Unit,
+    private val onFailed: (UUID, Set<PersistentDataKey<*>>) -> Unit
+) {
+    private val executor = ThreadPoolExecutor(
+        threads,
+        threads,
+        0,
+        TimeUnit.MILLISECONDS,
+        ArrayBlockingQueue(queueSize),
+        ThreadFactoryBuilder().setNameFormat("eco-persistence-thread-%d").build(),
+        ThreadPoolExecutor.AbortPolicy()
+    )
+
+    private val lock = Any()
+    private val entries = mutableMapOf<WriteTarget, PendingWrite>()
+
+    // Scheduled writes that the executor had no room for.
+    private val stalled = LinkedHashSet<WriteTarget>()
+
+    private val submitted = AtomicLong()
+    private val coalesced = AtomicLong()
+    private val completed = AtomicLong()
+    private val failed = AtomicLong()
+    private val totalLatencyNanos = AtomicLong()
+    private val maxLatencyNanos = AtomicLong()
+
+    /**
+     * Queue keys to be written by [DataHandler.writeKeysFor].
+     */
+    fun submit(handler: DataHandler, uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+        val target = WriteTarget(handler, uuid)
+        submitted.incrementAndGet()
+
+        retryStalled()
+
+        val dispatch = synchronized(lock) {
+            val entry = entries.getOrPut(target) { PendingWrite() }
+
+            if (entry.keys == null) {
+                entry.keys = LinkedHashMap(keys)
+                entry.queuedAt = System.nanoTime()
+            } else {
+                entry.keys!!.putAll(keys)
+                coalesced.incrementAndGet()
+            }
+
+            if (entry.running || entry.scheduled) {
+                false
+            } else {
+                entry.scheduled = true
+                true
+            }
+        }
+
+        if (dispatch) {
+            dispatch(target)
+        }
+    }
+
+    private fun dispatch(target: WriteTarget) {
+        try {
+            executor.execute { run(target) }
+        } catch (e: RejectedExecutionException) {
+            if (executor.isShutdown) {
+                run(target)
+            } else {
+                synchronized(lock) {
+                    stalled += target
+                }
+            }
+        }
+    }
+
+    private fun retryStalled() {
+        val targets = synchronized(lock) {
+            if (stalled.isEmpty()) {
+                return
+            }
+
+            stalled.toList().also { stalled.clear() }
+        }
+
+        for (target in targets) {
+            dispatch(target)
+        }
+    }
+
+    fun isQueued(handler: DataHandler, uuid: UUID): Boolean {
+        return synchronized(lock) {
+            entries.containsKey(WriteTarget(handler, uuid))
+        }
+    }
+
+    private fun run(target: WriteTarget) {
+        val (entry, keys, queuedAt) = synchronized(lock) {
+            val entry = entries[target] ?: return
+            val keys = entry.keys ?: return
+
+            // Only possible when shutting down; the running write dispatches these when it's done.
+            if (entry.running) {
+                return
+            }
+
+            entry.keys = null
+            entry.scheduled = false
+            entry.running = true
+
+            Triple(entry, keys, entry.queuedAt)
+        }
+
+        var written = false
+
+        try {
+            target.handler.writeKeysFor(target.uuid, keys)
+            written = true
+            completed.incrementAndGet()
+            onWritten(target.uuid)
+        } catch (e: Exception) {
+            if (written) {
+                logger.warning("Saved data for ${target.uuid} but could not publish it: ${e.message}")
+            } else {
+                logger.warning("Failed to save data for ${target.uuid}: ${e.message}")
+            }
+        } finally {
+            // Also reached on Errors, which would otherwise leave the entry running forever.
+            if (!written) {
+                failed.incrementAndGet()
+                runCatching { onFailed(target.uuid, keys.keys) }.onFailure { it.printStackTrace() }
+            }
+
+            val latency = System.nanoTime() - queuedAt
+            totalLatencyNanos.addAndGet(latency)
+            maxLatencyNanos.accumulateAndGet(latency, ::maxOf)
+
+            val dispatch = synchronized(lock) {
+                entry.running = false
+
+                if (entry.keys == null) {
+                    entries.remove(target)
+                    false
+                } else {
+                    entry.scheduled = true
+                    true
+                }
+            }
+
+            if (dispatch) {
+                dispatch(target)
+            }
+
+            retryStalled()
+        }
+    }
+
+    /**
+     * Wait for all queued writes to finish, for up to [timeoutMillis].
+     *
+     * @return If everything was written.
+     */
+    fun drain(timeoutMillis: Long): Boolean {
+        val deadline = System.currentTimeMillis() + timeoutMillis
+
+        while (true) {
+            retryStalled()
+
+            val remaining = synchronized(lock) { entries.size }
+
+            if (remaining == 0) {
+                return true
+            }
+
+            if (System.currentTimeMillis() > deadline) {
+                logger.warning("Timed out waiting for $remaining players' data to save!")
+                return false
+            }
+
+            Thread.sleep(10)
+        }
+    }
+
+    fun shutdown(timeoutMillis: Long) {
+        drain(timeoutMillis)
+        executor.shutdown()
+
+        // Anything that couldn't be dispatched in time is written here rather than dropped.
+        val targets = synchronized(lock) {
+            stalled.clear()
+            entries.filterValues { !it.running }.keys.toList()
+        }
+
+        for (target in targets) {
+            run(target)
+        }
+    }
+
+    fun getStats(): PersistenceStats {
+        val completed = completed.get()
+        val failed = failed.get()
+        val finished = (completed + failed).coerceAtLeast(1)
+
+        return PersistenceStats(
+            queued = synchronized(lock) { entries.size },
+            submitted = submitted.get(),
+            coalesced = coalesced.get(),
+            completed = completed,
+            failed = failed,
+            meanLatencyMillis = totalLatencyNanos.get() / finished / 1_000_000.0,
+            maxLatencyMillis = maxLatencyNanos.get() / 1_000_000.0
+        )
+    }
+}
+
+data class PersistenceStats(
+    val queued: Int,
+    val submitted: Long,
+    val coalesced: Long,
+    val completed: Long,
+    val failed: Long,
+    val meanLatencyMillis: Double,
+    val maxLatencyMillis: Double
+)
+
+private data class WriteTarget(
+    val handler: DataHandler,
+    val uuid: UUID
+)
+
+private class PendingWrite {
+    var keys: MutableMap<PersistentDataKey<*>, Any>? = null
+    var queuedAt = 0L
+    var running = false
+    var scheduled = false
+}
@@ -11,7 +11,7 @@ class ProfileSaver(
     fun startTicking() {
         val interval = plugin.configYml.getInt("save-interval").toLong()
 
-        plugin.scheduler.runTimer(20, interval) {
+        plugin.scheduler.runGlobalTimer(20, interval) {
             val iterator = EcoProfile.CHANGE_MAP.iterator()
 
             while (iterator.hasNext()) {
@@ -20,7 +20,7 @@ class ProfileSaver(
 
                 val profile = handler.accessLoadedProfile(uuid) ?: continue
 
-                handler.saveKeysFor(uuid, profile.data.keys)
+                handler.saveKeysFor(uuid, profile.takeChangedKeys())
             }
         }
     }
@@ -1,13 +1,21 @@
 package com.willfp.eco.internal.spigot.drops
 
 import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.Prerequisite
 import com.willfp.eco.internal.drops.EcoDropQueue
 import com.willfp.eco.internal.drops.EcoFastCollatedDropQueue
 
 class CollatedRunnable(plugin: EcoPlugin) {
     init {
-        plugin.scheduler.runTimer({
-            for ((key, value) in EcoFastCollatedDropQueue.COLLATED_MAP) {
+        plugin.scheduler.runGlobalTimer(0, 1) {
+            if (EcoFastCollatedDropQueue.COLLATED_MAP.isEmpty()) {
+                return@runGlobalTimer
+            }
+
+            for (key in EcoFastCollatedDropQueue.COLLATED_MAP.keys) {
+                // Removed before processing, so drops pushed meanwhile start a new entry rather than being lost.
+                val value = EcoFastCollatedDropQueue.COLLATED_MAP.remove(key) ?: continue
+
                 val queue = EcoDropQueue(key)
                     .setLocation(value.location)
                     .addItems(value.drops)
@@ -17,11 +25,13 @@ class CollatedRunnable(plugin: EcoPlugin) {
                     queue.forceTelekinesis()
                 }
 
-                queue.push()
-
-                EcoFastCollatedDropQueue.COLLATED_MAP.remove(key)
+                // Drops are given to the player, so have to be pushed on their region.
+                if (Prerequisite.HAS_FOLIA.isMet) {
+                    plugin.scheduler.runOnEntity(key) { queue.push() }
+                } else {
+                    queue.push()
+                }
             }
-            EcoFastCollatedDropQueue.COLLATED_MAP.clear()
-        }, 0, 1)
+        }
     }
 }
\ No newline at end of file
@@ -7,11 +7,13 @@ import org.bukkit.event.EventPriority
 import org.bukkit.event.Listener
 import org.bukkit.event.entity.EntityDamageByEntityEvent
 import org.bukkit.event.entity.EntityDeathEvent
+import java.util.UUID
 
 class EntityDeathByEntityListeners(
     private val plugin: EcoPlugin
 ) : Listener {
-    private val events = mutableSetOf<EntityDeathByEntityBuilder>()
+    // Expires after 5 ticks, which fixes conflicts with WildStacker.
+    private val events = ExpiringEventMap<UUID, EntityDeathByEntityBuilder>(plugin, 5)
 
     @EventHandler(priority = EventPriority.HIGH)
     fun onEntityDamage(event: EntityDamageByEntityEvent) {
@@ -29,11 +31,7 @@ class EntityDeathByEntityListeners(
         builtEvent.victim = victim
         builtEvent.damager = event.damager
 
-        events += builtEvent
-
-        this.plugin.scheduler.runLater(5) { // Fixes conflicts with WildStacker
-            events.remove(builtEvent)
-        }
+        events[victim.uniqueId] = builtEvent
     }
 
     @EventHandler(priority = EventPriority.HIGH)
@@ -42,19 +40,8 @@ class EntityDeathByEntityListeners(
         val drops = event.drops
         val xp = event.droppedExp
 
-        var builtEvent: EntityDeathByEntityBuilder? = null
-
-        for (builder in events) {
-            if (builder.victim == victim) {
-                builtEvent = builder
-            }
-        }
-
-        if (builtEvent == null) {
-            return
-        }
+        val builtEvent = events.remove(victim.uniqueId) ?: return
 
-        events.remove(builtEvent)
         builtEvent.drops = drops
         builtEvent.xp = xp
         builtEvent.deathEvent = event
@@ -0,0 +1,75 @@
+package com.willfp.eco.internal.spigot.eventlisteners
+
+import com.willfp.eco.core.EcoPlugin
+import org.bukkit.scheduler.BukkitTask
+
+/**
+ * Map of pending event data that expires after a number of ticks.
+ *
+ * Expiry uses a timing wheel with a slot per tick, so that there's one task
+ * for the whole map rather than one per entry, and the task only runs while
+ * the map isn't empty.
+ */
+internal class ExpiringEventMap<K : Any, V : Any>(
+    private val plugin: EcoPlugin,
+    private val ticks: Int
+) {
+    private val entries = HashMap<K, V>()
+    private val wheel = Array(ticks + 1) { mutableListOf<Pair<K, V>>() }
+    private var cursor = 0
+    private var ticker: BukkitTask? = null
+
+    @Synchronized
+    operator fun set(key: K, value: V) {
+        entries[key] = value
+
+        // The slot before the cursor is the last to be reached.
+        wheel[(cursor + ticks) % wheel.size] += key to value
+
+        if (ticker == null) {
+            ticker = plugin.scheduler.runGlobalTimer(1, 1) { tick() }
+        }
+    }
+
+    @Synchronized
+    fun remove(key: K): V? {
+        return entries.remove(key)
+    }
+
+    /**
+     * Remove and return the first value matching [predicate].
+     */
+    @Synchronized
+    fun removeFirst(predicate: (V) -> Boolean): V? {
+        val iterator = entries.values.iterator()
+
+        while (iterator.hasNext()) {
+            val value = iterator.next()
+
+            if (predicate(value)) {
+                iterator.remove()
+                return value
+            }
+        }
+
+        return null
+    }
+
+    @Synchronized
+    private fun tick() {
+        cursor = (cursor + 1) % wheel.size
+
+        val slot = wheel[cursor]
+        for ((key, value) in slot) {
+            // Only if it hasn't been replaced since.
+            entries.remove(key, value)
+        }
+        slot.clear()
+
+        if (entries.isEmpty()) {
+            wheel.forEach { it.clear() }
+            ticker?.cancel()
+            ticker = null
+        }
+    }
+}
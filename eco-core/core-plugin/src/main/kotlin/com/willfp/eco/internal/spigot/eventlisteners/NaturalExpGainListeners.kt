@@ -1,5 +1,6 @@
 package com.willfp.eco.internal.spigot.eventlisteners
 
+import com.willfp.eco.core.EcoPlugin
 import com.willfp.eco.core.events.NaturalExpGainEvent
 import org.bukkit.Bukkit
 import org.bukkit.entity.ThrownExpBottle
@@ -7,6 +8,7 @@ import org.bukkit.event.EventHandler
 import org.bukkit.event.Listener
 import org.bukkit.event.entity.ExpBottleEvent
 import org.bukkit.event.player.PlayerExpChangeEvent
+import java.util.UUID
 
 class NaturalExpGainListenersPaper : Listener {
     @EventHandler
@@ -22,38 +24,34 @@ class NaturalExpGainListenersPaper : Listener {
     }
 }
 
-class NaturalExpGainListenersSpigot : Listener {
-    private val events: MutableSet<NaturalExpGainBuilder> = HashSet()
+class NaturalExpGainListenersSpigot(
+    plugin: EcoPlugin
+) : Listener {
+    // Bottles by entity, kept for long enough for their orbs to be picked up.
+    private val bottles = ExpiringEventMap<UUID, NaturalExpGainBuilder>(plugin, 60)
 
     @EventHandler
     fun playerChange(event: PlayerExpChangeEvent) {
-        val builder = NaturalExpGainBuilder(NaturalExpGainBuilder.BuildReason.PLAYER)
-        builder.event = event
-        var toRemove: NaturalExpGainBuilder? = null
-        for (searchBuilder in events) {
-            if (searchBuilder.location!!.world != event.player.location.world) {
-                continue
-            }
-            if (searchBuilder.reason == NaturalExpGainBuilder.BuildReason.BOTTLE && searchBuilder.location!!.distanceSquared(
-                    event.player.location
-                ) > 52
-            ) {
-                toRemove = searchBuilder
-            }
+        val location = event.player.location
+
+        // Each bottle only accounts for one exp change, as before.
+        val fromBottle = bottles.removeFirst {
+            it.location!!.world == location.world && it.location!!.distanceSquared(location) <= 52
         }
-        if (toRemove != null) {
-            events.remove(toRemove)
+
+        if (fromBottle != null) {
             return
         }
+
+        val builder = NaturalExpGainBuilder(NaturalExpGainBuilder.BuildReason.PLAYER)
         builder.event = event
         builder.push()
-        events.remove(builder)
     }
 
     @EventHandler
     fun onExpBottle(event: ExpBottleEvent) {
         val builtEvent = NaturalExpGainBuilder(NaturalExpGainBuilder.BuildReason.BOTTLE)
         builtEvent.location = event.entity.location
-        events.add(builtEvent)
+        bottles[event.entity.uniqueId] = builtEvent
     }
 }
\ No newline at end of file
@@ -7,41 +7,72 @@ import org.bukkit.Material
 import org.bukkit.event.EventHandler
 import org.bukkit.event.Listener
 import org.bukkit.event.player.PlayerMoveEvent
+import org.bukkit.event.player.PlayerQuitEvent
 import org.bukkit.potion.PotionEffectType
-import java.text.DecimalFormat
 import java.util.UUID
+import kotlin.math.abs
 
 @Suppress("DEPRECATION")
 class PlayerJumpListenersSpigot : Listener {
+    // PlayerMoveEvent is called constantly, so nothing here allocates unless the player might have jumped.
     @EventHandler(ignoreCancelled = true)
     fun onJump(event: PlayerMoveEvent) {
+        // Fake events shouldn't change what's known about the player.
         if (McmmoManager.isFake(event)) {
             return
         }
+
         val player = event.player
-        if (player.velocity.y > 0) {
-            var jumpVelocity = 0.42f
-            if (player.hasPotionEffect(PotionEffectType.JUMP)) {
-                jumpVelocity += (player.getPotionEffect(PotionEffectType.JUMP)!!.amplifier.toFloat() + 1) * 0.1f
-            }
-            jumpVelocity = FORMAT.format(jumpVelocity.toDouble()).replace(',', '.').toFloat()
-            if (event.player.location.block.type != Material.LADDER && PREVIOUS_PLAYERS_ON_GROUND.contains(player.uniqueId)
-                && !player.isOnGround
-                && player.velocity.y.toFloat().compareTo(jumpVelocity) == 0
-            ) {
-                Bukkit.getPluginManager().callEvent(PlayerJumpEvent(event))
-            }
+        val onGround = player.isOnGround
+        val wasOnGround = updateGround(player.uniqueId, onGround)
+
+        // Jumping has to go up, from the ground, into the air.
+        if (onGround || !wasOnGround || event.to.y <= event.from.y) {
+            return
         }
-        if (player.isOnGround) {
-            PREVIOUS_PLAYERS_ON_GROUND.add(player.uniqueId)
-        } else {
-            PREVIOUS_PLAYERS_ON_GROUND.remove(player.uniqueId)
+
+        if (player.location.block.type == Material.LADDER) {
+            return
         }
+
+        var jumpVelocity = BASE_JUMP_VELOCITY
+        val jumpBoost = player.getPotionEffect(PotionEffectType.JUMP)
+        if (jumpBoost != null) {
+            jumpVelocity += (jumpBoost.amplifier + 1) * 0.1
+        }
+
+        if (abs(player.velocity.y - jumpVelocity) < EPSILON) {
+            Bukkit.getPluginManager().callEvent(PlayerJumpEvent(event))
+        }
+    }
+
+    @EventHandler
+    fun onQuit(event: PlayerQuitEvent) {
+        PREVIOUS_PLAYERS_ON_GROUND.remove(event.player.uniqueId)
+    }
+
+    /**
+     * Set if a player is on the ground, returning if they were on the previous move.
+     */
+    private fun updateGround(uuid: UUID, onGround: Boolean): Boolean {
+        val wasOnGround = PREVIOUS_PLAYERS_ON_GROUND.contains(uuid)
+
+        // Only changes on landing or leaving the ground, rather than every move.
+        if (onGround != wasOnGround) {
+            if (onGround) {
+                PREVIOUS_PLAYERS_ON_GROUND.add(uuid)
+            } else {
+                PREVIOUS_PLAYERS_ON_GROUND.remove(uuid)
+            }
+        }
+
+        return wasOnGround
     }
 
     companion object {
         private val PREVIOUS_PLAYERS_ON_GROUND: MutableSet<UUID> = HashSet()
-        private val FORMAT = DecimalFormat("0.00")
+        private const val BASE_JUMP_VELOCITY = 0.42
+        private const val EPSILON = 0.005
     }
 }
 
@@ -1,28 +1,69 @@
 package com.willfp.eco.internal.spigot.eventlisteners.armor
 
 import com.willfp.eco.core.EcoPlugin
+import com.willfp.eco.core.Prerequisite
 import com.willfp.eco.core.events.ArmorChangeEvent
 import com.willfp.eco.core.events.ArmorEquipEvent
 import org.bukkit.Bukkit
 import org.bukkit.entity.Player
 import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
 import org.bukkit.event.Listener
 import org.bukkit.event.block.BlockDispenseArmorEvent
+import org.bukkit.event.player.PlayerJoinEvent
+import org.bukkit.event.player.PlayerQuitEvent
+import org.bukkit.event.player.PlayerRespawnEvent
+import org.bukkit.inventory.ItemStack
+import org.bukkit.scheduler.BukkitTask
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+/*
+Rather than a task for every equip event, players are marked as dirty and their
+armor is compared against the last snapshot once per tick, which is when the
+inventory has actually updated.
+
+Joining and respawning always fire an ArmorChangeEvent, even if the armor is
+the same as the last snapshot, as plugins use them to re-apply armor effects.
+ */
 
 class ArmorChangeEventListeners(
     private val plugin: EcoPlugin
 ) : Listener {
+    private val snapshots = ConcurrentHashMap<UUID, List<ItemStack?>>()
+    private val unseen = ConcurrentHashMap.newKeySet<UUID>()
+    private val dirty = mutableMapOf<UUID, Player>()
+    private var ticker: BukkitTask? = null
+
     @EventHandler
     fun onArmorChange(event: ArmorEquipEvent) {
         val player = event.player
-        val before = player.inventory.armorContents.toMutableList()
-        plugin.scheduler.run {
-            val after = player.inventory.armorContents.toMutableList()
-            val armorChangeEvent = ArmorChangeEvent(player, before, after)
-            Bukkit.getPluginManager().callEvent(armorChangeEvent)
+
+        // First time seeing this player, so this is what their armor looked like before.
+        if (player.uniqueId !in snapshots) {
+            snapshots[player.uniqueId] = player.armorSnapshot()
+            unseen += player.uniqueId
+        }
+
+        synchronized(dirty) {
+            dirty[player.uniqueId] = player
+
+            if (ticker == null) {
+                ticker = plugin.scheduler.runGlobalTimer(1, 1) { tick() }
+            }
         }
     }
 
+    @EventHandler(priority = EventPriority.LOWEST)
+    fun onJoin(event: PlayerJoinEvent) {
+        unseen += event.player.uniqueId
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    fun onRespawn(event: PlayerRespawnEvent) {
+        unseen += event.player.uniqueId
+    }
+
     @EventHandler
     fun dispenseArmorEvent(event: BlockDispenseArmorEvent) {
         val type = ArmorType.matchType(event.item)
@@ -30,4 +71,80 @@ class ArmorChangeEventListeners(
             Bukkit.getPluginManager().callEvent(ArmorEquipEvent(event.targetEntity as Player))
         }
     }
-}
\ No newline at end of file
+
+    @EventHandler
+    fun onQuit(event: PlayerQuitEvent) {
+        snapshots.remove(event.player.uniqueId)
+        unseen.remove(event.player.uniqueId)
+        synchronized(dirty) {
+            dirty.remove(event.player.uniqueId)
+        }
+    }
+
+    private fun tick() {
+        val players = synchronized(dirty) {
+            val players = dirty.values.toList()
+            dirty.clear()
+
+            if (players.isEmpty()) {
+                ticker?.cancel()
+                ticker = null
+            }
+
+            players
+        }
+
+        for (player in players) {
+            if (Prerequisite.HAS_FOLIA.isMet) {
+                plugin.scheduler.runOnEntity(player) { check(player) }
+            } else {
+                check(player)
+            }
+        }
+    }
+
+    private fun check(player: Player) {
+        if (!player.isOnline) {
+            return
+        }
+
+        val before = snapshots[player.uniqueId] ?: return
+        val after = player.armorSnapshot()
+
+        // Always fire on join and respawn, and for a player's first change.
+        if (!unseen.remove(player.uniqueId) && before.isSameArmorAs(after)) {
+            return
+        }
+
+        snapshots[player.uniqueId] = after
+
+        Bukkit.getPluginManager().callEvent(
+            ArmorChangeEvent(player, before.toMutableList(), after.toMutableList())
+        )
+    }
+}
+
+// Inventories hand out mirrors of the real items, so they're copied to stop snapshots changing.
+private fun Player.armorSnapshot(): List<ItemStack?> =
+    this.inventory.armorContents.map { it?.clone() }
+
+private fun List<ItemStack?>.isSameArmorAs(other: List<ItemStack?>): Boolean {
+    if (this.size != other.size) {
+        return false
+    }
+
+    for (i in this.indices) {
+        val a = this[i]
+        val b = other[i]
+
+        if (ArmorListener.isAirOrNull(a) && ArmorListener.isAirOrNull(b)) {
+            continue
+        }
+
+        if (a != b) {
+            return false
+        }
+    }
+
+    return true
+}
@@ -27,7 +27,7 @@ class CraftingRecipeListener(val plugin: EcoPlugin) : Listener {
         handlePrepare(event)
 
         if (plugin.configYml.getBool("enforce-preparing-recipes")) {
-            plugin.scheduler.runLater(1) {
+            plugin.scheduler.runOnEntityLater(event.view.player, 1) {
                 handlePrepare(event)
             }
         }
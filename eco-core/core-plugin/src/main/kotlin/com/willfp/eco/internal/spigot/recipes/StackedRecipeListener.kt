@@ -8,6 +8,7 @@ import com.willfp.eco.core.recipe.parts.GroupedTestableItems
 import com.willfp.eco.core.recipe.parts.TestableStack
 import com.willfp.eco.core.recipe.recipes.CraftingRecipe
 import org.bukkit.Material
+import org.bukkit.entity.HumanEntity
 import org.bukkit.event.EventHandler
 import org.bukkit.event.EventPriority
 import org.bukkit.event.Listener
@@ -110,7 +111,7 @@ class StackedRecipeListener(
             // Everything has to be cloned because the inventory changes the item
             inventory.matrix[i] = item.clone() // Use un-cloned version first
             // This isn't even funny anymore
-            runTwice {
+            runTwice(event.whoClicked) {
                 val newItem = item.clone()
                 // Just use every method possible to set the item
                 inventory.matrix[i] = newItem
@@ -133,9 +134,9 @@ class StackedRecipeListener(
         inventory.result = existingResult
     }
 
-    private fun runTwice(block: () -> Unit) {
+    private fun runTwice(player: HumanEntity, block: () -> Unit) {
         block()
-        plugin.scheduler.run(block)
+        plugin.scheduler.runOnEntity(player, block)
     }
 
     companion object {
@@ -0,0 +1,74 @@
+import com.willfp.eco.core.config.ConfigKey
+import com.willfp.eco.core.config.ConfigType
+import com.willfp.eco.internal.config.EcoConfigSection
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+
+class ConfigKeyTest {
+    @Test
+    fun testValueIsCachedUntilSet() {
+        val config = EcoConfigSection(ConfigType.YAML, mapOf("a" to 1))
+        var reads = 0
+        val key = ConfigKey.of(config, "a") { c, path -> reads++; c.getInt(path) }
+
+        Assertions.assertEquals(1, key.get())
+        Assertions.assertEquals(1, key.get())
+        Assertions.assertEquals(1, reads)
+
+        config.set("a", 2)
+
+        Assertions.assertEquals(2, key.get())
+        Assertions.assertEquals(2, reads)
+    }
+
+    @Test
+    fun testOtherConfigsDontInvalidate() {
+        val config = EcoConfigSection(ConfigType.YAML, mapOf("a" to 1))
+        val other = EcoConfigSection(ConfigType.YAML, mapOf("b" to 1))
+        var reads = 0
+        val key = ConfigKey.of(config, "a") { c, path -> reads++; c.getInt(path) }
+
+        key.get()
+        other.set("b", 2)
+        other.init(mapOf("b" to 3), emptyMap())
+        key.get()
+
+        Assertions.assertEquals(1, reads)
+    }
+
+    @Test
+    fun testSubsectionChangesInvalidateRoot() {
+        val config = EcoConfigSection(ConfigType.YAML, mapOf("section" to mapOf("value" to 1)))
+        val key = ConfigKey.ofInt(config, "section.value")
+
+        Assertions.assertEquals(1, key.get())
+
+        config.getSubsection("section").set("value", 2)
+
+        Assertions.assertEquals(2, key.get())
+    }
+
+    @Test
+    fun testNestedSetInvalidatesRoot() {
+        val config = EcoConfigSection(ConfigType.YAML)
+        val key = ConfigKey.ofInt(config, "new.section.value")
+
+        Assertions.assertEquals(0, key.get())
+
+        config.set("new.section.value", 3)
+
+        Assertions.assertEquals(3, key.get())
+    }
+
+    @Test
+    fun testReloadInvalidates() {
+        val config = EcoConfigSection(ConfigType.YAML, mapOf("a" to 1))
+        val key = ConfigKey.ofInt(config, "a")
+
+        Assertions.assertEquals(1, key.get())
+
+        config.init(mapOf("a" to 5), emptyMap())
+
+        Assertions.assertEquals(5, key.get())
+    }
+}
@@ -0,0 +1,119 @@
+import com.willfp.eco.core.data.keys.PersistentDataKey
+import com.willfp.eco.core.data.keys.PersistentDataKeyType
+import com.willfp.eco.internal.spigot.data.EcoPlayerProfile
+import com.willfp.eco.internal.spigot.data.storage.DataHandler
+import com.willfp.eco.internal.spigot.data.storage.HandlerType
+import com.willfp.eco.internal.spigot.data.storage.LocalInvalidationBus
+import com.willfp.eco.internal.spigot.data.storage.PersistenceExecutor
+import org.bukkit.NamespacedKey
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.logging.Logger
+
+class InvalidationBusTest {
+    // Stands in for a database shared by two servers.
+    private class SharedDataHandler : DataHandler(HandlerType.MYSQL) {
+        val values = ConcurrentHashMap<Pair<UUID, PersistentDataKey<*>>, Any>()
+
+        @Suppress("UNCHECKED_CAST")
+        override fun <T : Any> read(uuid: UUID, key: PersistentDataKey<T>): T? {
+            return values[uuid to key] as T?
+        }
+
+        override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
+            values[uuid to key] = value
+        }
+
+        override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+            for ((key, value) in keys) {
+                values[uuid to key] = value
+            }
+        }
+    }
+
+    private val busA = LocalInvalidationBus()
+    private val busB = LocalInvalidationBus()
+
+    @AfterEach
+    fun stopBuses() {
+        busA.stop()
+        busB.stop()
+    }
+
+    @Test
+    fun testWriteInvalidatesOtherServer() {
+        val database = SharedDataHandler()
+        val uuid = UUID.randomUUID()
+
+        database.write(uuid, sharedKey, "old")
+
+        val profileA = EcoPlayerProfile(ConcurrentHashMap(), uuid, database, database)
+        val profileB = EcoPlayerProfile(ConcurrentHashMap(), uuid, database, database)
+        val invalidatedOnA = ConcurrentHashMap.newKeySet<UUID>()
+
+        busA.start { invalidatedOnA += it }
+        busB.start { profileB.invalidate() }
+
+        val persistence = PersistenceExecutor(
+            Logger.getAnonymousLogger(),
+            1,
+            16,
+            onWritten = { busA.publish(it) },
+            onFailed = { _, _ -> }
+        )
+
+        try {
+            Assertions.assertEquals("old", profileB.read(sharedKey))
+
+            // Written on B but not saved yet, so must survive the invalidation.
+            profileB.write(unsavedKey, "unsaved")
+
+            profileA.write(sharedKey, "new")
+            val keys = profileA.takeChangedKeys().associateWith { profileA.data[it]!! }
+            persistence.submit(database, uuid, keys)
+
+            Assertions.assertTrue(persistence.drain(5000))
+
+            Assertions.assertEquals("new", profileB.read(sharedKey))
+            Assertions.assertEquals("unsaved", profileB.read(unsavedKey))
+            Assertions.assertEquals(setOf(unsavedKey), profileB.takeChangedKeys())
+
+            // A server isn't told about its own writes.
+            Assertions.assertTrue(invalidatedOnA.isEmpty())
+        } finally {
+            persistence.shutdown(1000)
+        }
+    }
+
+    @Test
+    fun testStoppedBusIsNotTold() {
+        val uuid = UUID.randomUUID()
+        val invalidated = ConcurrentHashMap.newKeySet<UUID>()
+
+        busA.start { }
+        busB.start { invalidated += it }
+        busB.stop()
+
+        busA.publish(uuid)
+
+        Assertions.assertTrue(invalidated.isEmpty())
+    }
+
+    companion object {
+        private lateinit var sharedKey: PersistentDataKey<String>
+        private lateinit var unsavedKey: PersistentDataKey<String>
+
+        @BeforeAll
+        @JvmStatic
+        fun createKeys() {
+            TestEco.install()
+
+            sharedKey = PersistentDataKey(NamespacedKey("eco", "test_shared"), PersistentDataKeyType.STRING, "")
+            unsavedKey = PersistentDataKey(NamespacedKey("eco", "test_unsaved"), PersistentDataKeyType.STRING, "")
+        }
+    }
+}
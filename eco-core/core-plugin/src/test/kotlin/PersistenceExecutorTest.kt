@@ -0,0 +1,154 @@
+import com.willfp.eco.core.data.keys.PersistentDataKey
+import com.willfp.eco.core.data.keys.PersistentDataKeyType
+import com.willfp.eco.internal.spigot.data.EcoPlayerProfile
+import com.willfp.eco.internal.spigot.data.storage.DataHandler
+import com.willfp.eco.internal.spigot.data.storage.HandlerType
+import com.willfp.eco.internal.spigot.data.storage.PersistenceExecutor
+import org.bukkit.NamespacedKey
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.logging.Logger
+
+class PersistenceExecutorTest {
+    private class FailingDataHandler : DataHandler(HandlerType.MYSQL) {
+        @Volatile
+        var failing = true
+
+        val saved = ConcurrentHashMap<PersistentDataKey<*>, Any>()
+
+        override fun <T : Any> read(uuid: UUID, key: PersistentDataKey<T>): T? = null
+
+        override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
+            saveKeysFor(uuid, mapOf(key to value))
+        }
+
+        override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+            if (failing) {
+                throw IllegalStateException("Database is down")
+            }
+
+            saved.putAll(keys)
+        }
+    }
+
+    @Test
+    fun testFailedWriteRestoresChangedKeys() {
+        val handler = FailingDataHandler()
+        val uuid = UUID.randomUUID()
+        val profile = EcoPlayerProfile(ConcurrentHashMap(), uuid, handler, handler)
+
+        val persistence = PersistenceExecutor(
+            Logger.getAnonymousLogger(),
+            1,
+            16,
+            onWritten = { },
+            onFailed = { _, keys -> profile.restoreChangedKeys(keys) }
+        )
+
+        try {
+            profile.write(key, 1)
+
+            persistence.submit(handler, uuid, profile.takeChangedKeys().associateWith { profile.data[it]!! })
+            Assertions.assertTrue(persistence.drain(5000))
+            Assertions.assertEquals(1, persistence.getStats().failed)
+
+            // The key is still unsaved, so the next save includes it.
+            val retry = profile.takeChangedKeys()
+            Assertions.assertEquals(setOf(key), retry)
+
+            handler.failing = false
+            persistence.submit(handler, uuid, retry.associateWith { profile.data[it]!! })
+            Assertions.assertTrue(persistence.drain(5000))
+
+            Assertions.assertEquals(1, handler.saved[key])
+            Assertions.assertTrue(profile.takeChangedKeys().isEmpty())
+        } finally {
+            persistence.shutdown(1000)
+        }
+    }
+
+    private class RecordingDataHandler : DataHandler(HandlerType.MYSQL) {
+        val latch = CountDownLatch(1)
+        val writers = ConcurrentHashMap<UUID, Thread>()
+
+        override fun <T : Any> read(uuid: UUID, key: PersistentDataKey<T>): T? = null
+
+        override fun <T : Any> write(uuid: UUID, key: PersistentDataKey<T>, value: T) {
+            saveKeysFor(uuid, mapOf(key to value))
+        }
+
+        override fun saveKeysFor(uuid: UUID, keys: Map<PersistentDataKey<*>, Any>) {
+            latch.await(5, TimeUnit.SECONDS)
+            writers[uuid] = Thread.currentThread()
+        }
+    }
+
+    @Test
+    fun testFullQueueDoesntRunOnCaller() {
+        val handler = RecordingDataHandler()
+        val uuids = List(5) { UUID.randomUUID() }
+
+        val persistence = PersistenceExecutor(
+            Logger.getAnonymousLogger(),
+            1,
+            1,
+            onWritten = { },
+            onFailed = { _, _ -> }
+        )
+
+        try {
+            // One running, one queued, and the rest left pending.
+            for (uuid in uuids) {
+                persistence.submit(handler, uuid, mapOf(key to 1))
+            }
+
+            Assertions.assertTrue(handler.writers.isEmpty())
+
+            handler.latch.countDown()
+            Assertions.assertTrue(persistence.drain(5000))
+
+            Assertions.assertEquals(uuids.toSet(), handler.writers.keys)
+            Assertions.assertTrue(handler.writers.values.none { it === Thread.currentThread() })
+        } finally {
+            persistence.shutdown(1000)
+        }
+    }
+
+    @Test
+    fun testWritesAfterShutdownAreNotDropped() {
+        val handler = RecordingDataHandler()
+        val uuid = UUID.randomUUID()
+        handler.latch.countDown()
+
+        val persistence = PersistenceExecutor(
+            Logger.getAnonymousLogger(),
+            1,
+            1,
+            onWritten = { },
+            onFailed = { _, _ -> }
+        )
+
+        persistence.shutdown(1000)
+        persistence.submit(handler, uuid, mapOf(key to 1))
+
+        Assertions.assertTrue(handler.writers.containsKey(uuid))
+        Assertions.assertFalse(persistence.isQueued(handler, uuid))
+    }
+
+    companion object {
+        private lateinit var key: PersistentDataKey<Int>
+
+        @BeforeAll
+        @JvmStatic
+        fun createKeys() {
+            TestEco.install()
+
+            key = PersistentDataKey(NamespacedKey("eco", "test_persistence"), PersistentDataKeyType.INT, 0)
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import com.willfp.eco.internal.spigot.data.storage.ProfileVersions
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.util.UUID
+
+class ProfileVersionsTest {
+    @Test
+    fun testFirstVersionIsNotAChange() {
+        val versions = ProfileVersions()
+        val uuid = UUID.randomUUID()
+
+        Assertions.assertFalse(versions.update(uuid, 5))
+        Assertions.assertFalse(versions.update(uuid, 5))
+        Assertions.assertTrue(versions.update(uuid, 6))
+    }
+
+    @Test
+    fun testOlderVersionIsIgnored() {
+        val versions = ProfileVersions()
+        val uuid = UUID.randomUUID()
+
+        versions.update(uuid, 10)
+
+        Assertions.assertFalse(versions.update(uuid, 9))
+        Assertions.assertFalse(versions.update(uuid, 10))
+    }
+
+    @Test
+    fun testOwnWritesAreNotChanges() {
+        val versions = ProfileVersions()
+        val uuid = UUID.randomUUID()
+        val changed = mutableListOf<UUID>()
+        versions.onChange = { changed += it }
+
+        versions.update(uuid, 1)
+        versions.recordWrite(uuid, 2)
+
+        // The bus then sees the version this server wrote.
+        Assertions.assertFalse(versions.update(uuid, 2))
+        Assertions.assertTrue(changed.isEmpty())
+    }
+
+    @Test
+    fun testChangeSeenByReadIsReported() {
+        val versions = ProfileVersions()
+        val uuid = UUID.randomUUID()
+        val changed = mutableListOf<UUID>()
+        versions.onChange = { changed += it }
+
+        versions.update(uuid, 1)
+
+        // Another server writes version 2, which a normal read sees before the bus does.
+        versions.update(uuid, 2)
+        Assertions.assertEquals(listOf(uuid), changed)
+
+        // The bus seeing it afterwards doesn't report it twice.
+        versions.update(uuid, 2)
+        Assertions.assertEquals(listOf(uuid), changed)
+    }
+
+    @Test
+    fun testForgetStartsAgain() {
+        val versions = ProfileVersions()
+        val uuid = UUID.randomUUID()
+
+        versions.update(uuid, 3)
+        versions.forget(uuid)
+
+        Assertions.assertFalse(versions.update(uuid, 4))
+    }
+}
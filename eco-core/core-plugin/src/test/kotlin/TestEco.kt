@@ -0,0 +1,33 @@
+import com.willfp.eco.core.Eco
+import org.bukkit.NamespacedKey
+import java.lang.reflect.Proxy
+
+/**
+ * A minimal [Eco] for tests of code that creates keys, as there's no server
+ * to load the real one.
+ */
+object TestEco {
+    fun install() {
+        val field = Eco.Instance::class.java.getDeclaredField("eco")
+            .apply { isAccessible = true }
+
+        if (field.get(null) != null) {
+            return
+        }
+
+        val eco = Proxy.newProxyInstance(Eco::class.java.classLoader, arrayOf(Eco::class.java)) { _, method, args ->
+            when (method.name) {
+                "createNamespacedKey" -> NamespacedKey(args[0] as String, args[1] as String)
+                else -> when (method.returnType) {
+                    java.lang.Boolean.TYPE -> false
+                    Integer.TYPE -> 0
+                    java.lang.Long.TYPE -> 0L
+                    java.lang.Double.TYPE -> 0.0
+                    else -> null
+                }
+            }
+        }
+
+        field.set(null, eco)
+    }
+}